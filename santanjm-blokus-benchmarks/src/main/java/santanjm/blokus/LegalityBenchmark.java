@@ -0,0 +1,112 @@
+package santanjm.blokus;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import santanjm.blokus.*;
+
+/**
+ * Measures the legality checks of the game: Board.isLegal, for pieces and for packed
+ * moves, on a spread of placements which are legal and which are not, Board.hasLegalMove
+ * and Board.findPossibleMoveSpaces.  Run with -prof gc to see that the legality checks
+ * allocate nothing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegalityBenchmark {
+	// How far into the game the position is
+	@Param({"opening", "midgame", "endgame"})
+	public String phase;
+	
+	// The position being checked
+	private Board board;
+	
+	// The player to move
+	private Player player;
+	
+	// The pieces, in their orientations, of the placements checked
+	private Nomino[] pieces;
+	
+	// The columns and rows of the placements checked
+	private int[] cols;
+	private int[] rows;
+	
+	// The placements checked, as packed moves
+	private int[] packed;
+	
+	// The next placement to check
+	private int next;
+	
+	/**
+	 * Plays into the position and picks the placements to check: for each piece the
+	 * player to move can place, one legal move and the same piece one space to the right
+	 */
+	@Setup
+	public void setUp() {
+		board = Positions.randomPosition(Positions.movesInto(phase), Positions.SEED);
+		player = board.getPlayerToMove();
+		MoveList moves = board.generateMoves(player);
+		
+		List<Nomino> checkedPieces = new ArrayList<Nomino>();
+		List<Integer> checkedCols = new ArrayList<Integer>();
+		List<Integer> checkedRows = new ArrayList<Integer>();
+		boolean[] seen = new boolean[PieceCatalog.NUM_PIECES];
+		for(int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if(seen[Move.getPiece(move)]) continue;
+			seen[Move.getPiece(move)] = true;
+			
+			// A piece is only checked in one orientation, so it can be turned once here
+			Nomino n = player.getPieceById(Move.getPiece(move));
+			n.setOrientation(Move.getOrientation(move));
+			for(int k = 0; k < 2; k++) {
+				checkedPieces.add(n);
+				checkedCols.add(Move.getCol(move) + k);
+				checkedRows.add(Move.getRow(move));
+			}
+		}
+		if(checkedPieces.isEmpty()) throw new IllegalStateException("No moves in the " + phase);
+		
+		pieces = checkedPieces.toArray(new Nomino[checkedPieces.size()]);
+		cols = new int[pieces.length];
+		rows = new int[pieces.length];
+		packed = new int[pieces.length];
+		for(int i = 0; i < pieces.length; i++) {
+			cols[i] = checkedCols.get(i);
+			rows[i] = checkedRows.get(i);
+			packed[i] = Move.encode(pieces[i].getPieceId(), pieces[i].getOrientation(), cols[i], rows[i]);
+		}
+	}
+	
+	@Benchmark
+	public boolean isLegal() {
+		int i = next;
+		next = (i + 1) % pieces.length;
+		if(board.getNumMovesMade() == 0) return board.isLegalFirstTurn(pieces[i], cols[i], rows[i]);
+		return board.isLegal(pieces[i], cols[i], rows[i]);
+	}
+	
+	@Benchmark
+	public boolean isLegalMove() {
+		int i = next;
+		next = (i + 1) % packed.length;
+		return board.isLegal(player, packed[i]);
+	}
+	
+	@Benchmark
+	public boolean hasLegalMove() {
+		return board.hasLegalMove(player);
+	}
+	
+	@Benchmark
+	public Set<Space> findPossibleMoveSpaces() {
+		return board.findPossibleMoveSpaces(player);
+	}
+}
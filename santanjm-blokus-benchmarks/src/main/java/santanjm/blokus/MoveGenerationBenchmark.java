@@ -0,0 +1,47 @@
+package santanjm.blokus;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import santanjm.blokus.*;
+
+/**
+ * Measures generating every legal move of the player to move at the opening, in the
+ * middle of the game and near its end
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+	// How far into the game the position is
+	@Param({"opening", "midgame", "endgame"})
+	public String phase;
+	
+	// The position moves are generated in
+	private Board board;
+	
+	// The player to move
+	private Player player;
+	
+	// The list the moves are generated in, reused between calls
+	private MoveList moves = new MoveList();
+	
+	/**
+	 * Plays into the position
+	 */
+	@Setup
+	public void setUp() {
+		board = Positions.randomPosition(Positions.movesInto(phase), Positions.SEED);
+		player = board.getPlayerToMove();
+	}
+	
+	@Benchmark
+	public MoveList generateMoves() {
+		board.generateMoves(player, moves);
+		return moves;
+	}
+}
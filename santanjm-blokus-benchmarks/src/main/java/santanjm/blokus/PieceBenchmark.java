@@ -0,0 +1,64 @@
+package santanjm.blokus;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import santanjm.blokus.*;
+
+/**
+ * Measures turning and moving a piece around the way the keyboard does, and walking
+ * its nominos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceBenchmark {
+	// The classification and index of the piece being turned
+	@Param({"2:0", "4:4", "5:11"})
+	public String piece;
+	
+	// The piece being turned, hovering in the middle of the board
+	private Nomino n;
+	
+	/**
+	 * Picks out the piece and puts it in the middle of the board, where it can always turn
+	 */
+	@Setup
+	public void setUp() {
+		Board board = new Board(4);
+		String[] parts = piece.split(":");
+		n = board.getPlayerFromNum(1).getPiece(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+		n.setCoords(10, 10);
+	}
+	
+	@Benchmark
+	public Nomino rotate() {
+		n.rotate();
+		return n;
+	}
+	
+	@Benchmark
+	public Nomino reflect() {
+		n.reflect(0);
+		return n;
+	}
+	
+	@Benchmark
+	public boolean setCoords() {
+		return n.setCoords(10, 10);
+	}
+	
+	@Benchmark
+	public Nomino[] getCells() {
+		return n.getCells();
+	}
+	
+	@Benchmark
+	public Direction[] walk() {
+		return n.walk();
+	}
+}
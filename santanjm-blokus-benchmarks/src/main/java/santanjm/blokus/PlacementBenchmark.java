@@ -0,0 +1,56 @@
+package santanjm.blokus;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import santanjm.blokus.*;
+
+/**
+ * Measures placing a piece and taking it back again, both through the game's Spaces
+ * with placePiece and deplacePiece, and straight on the bits with makeMove and
+ * unmakeMove
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementBenchmark {
+	// The position the piece is placed in
+	private Board board;
+	
+	// A legal move of the player to move, placing the largest piece it can
+	private int move;
+	
+	// The piece the move places, turned the way the move has it
+	private Nomino n;
+	
+	/**
+	 * Plays into the middle of a game and picks the move
+	 */
+	@Setup
+	public void setUp() {
+		board = Positions.randomPosition(Positions.MIDGAME, Positions.SEED);
+		MoveList moves = board.generateMoves(board.getPlayerToMove());
+		moves.sort();
+		move = moves.get(moves.size() - 1);
+		n = board.getPlayerToMove().getPieceById(Move.getPiece(move));
+		n.setOrientation(Move.getOrientation(move));
+	}
+	
+	@Benchmark
+	public Board placeAndDeplace() {
+		board.placePiece(n, Move.getCol(move), Move.getRow(move));
+		board.deplacePiece(n);
+		return board;
+	}
+	
+	@Benchmark
+	public Board makeAndUnmake() {
+		board.makeMove(move);
+		board.unmakeMove();
+		return board;
+	}
+}
@@ -0,0 +1,50 @@
+package santanjm.blokus;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import santanjm.blokus.*;
+
+/**
+ * Measures playing whole games of random legal moves from an empty board, the work done
+ * by every playout of the Monte Carlo search
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayoutBenchmark {
+	// The board the games are played on, cleared with unmakeMove after each one
+	private Board board;
+	
+	// The source of the random moves
+	private Random random;
+	
+	// The list the moves are generated in
+	private MoveList moves = new MoveList();
+	
+	/**
+	 * Makes the board
+	 */
+	@Setup
+	public void setUp() {
+		board = new Board(4);
+		random = new Random(Positions.SEED);
+	}
+	
+	/**
+	 * Plays one random game and takes it back
+	 * 
+	 * @return the number of pieces placed
+	 */
+	@Benchmark
+	public int playout() {
+		int placed = Simulation.playout(board, random, moves);
+		while(board.getNumMovesMade() > 0) board.unmakeMove();
+		return placed;
+	}
+}
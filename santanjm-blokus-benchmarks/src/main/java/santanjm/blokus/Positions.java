@@ -0,0 +1,62 @@
+package santanjm.blokus;
+
+import java.util.*;
+
+import santanjm.blokus.*;
+
+/**
+ * Builds the positions the benchmarks are measured on, by playing random legal moves
+ * from an empty board.  The same seed always gives the same position
+ */
+public final class Positions {
+	// The number of moves played into each phase of a four player game
+	public static final int OPENING = 0;
+	public static final int MIDGAME = 24;
+	public static final int ENDGAME = 56;
+	
+	// The seed every benchmark position is played from
+	public static final long SEED = 20190204L;
+	
+	/**
+	 * Positions are only built with the static methods
+	 */
+	private Positions() {
+	}
+	
+	/**
+	 * Gets the number of moves played into a phase of the game
+	 * 
+	 * @param phase opening, midgame or endgame
+	 * @return the number of moves to play
+	 * @throws IllegalArgumentException if the phase is unknown
+	 */
+	public static int movesInto(String phase) throws IllegalArgumentException {
+		if(phase.equals("opening")) return OPENING;
+		if(phase.equals("midgame")) return MIDGAME;
+		if(phase.equals("endgame")) return ENDGAME;
+		throw new IllegalArgumentException("Unknown phase " + phase);
+	}
+	
+	/**
+	 * Plays random legal moves on a new four player board, then passes until it is the
+	 * turn of a player who can still move, if there is one
+	 * 
+	 * @param moves the number of random moves to play, passes included
+	 * @param seed  the seed of the random moves
+	 * @return the board, with the moves made with makeMove
+	 */
+	public static Board randomPosition(int moves, long seed) {
+		Board board = new Board(4);
+		Random random = new Random(seed);
+		MoveList list = new MoveList();
+		for(int i = 0; i < moves && board.allPlayersPassed() == false; i++) {
+			board.makeMove(Simulation.randomMove(board, random, list));
+		}
+		
+		// Pass on to a player who still has a move to measure
+		for(int i = 0; i < board.getNumPlayers() && board.generateMoves(board.getPlayerToMove()).isEmpty(); i++) {
+			board.makeMove(Move.PASS);
+		}
+		return board;
+	}
+}
@@ -0,0 +1,487 @@
+package santanjm.blokus;
+
+import java.util.Arrays;
+
+import santanjm.blokus.*;
+
+/**
+ * Bitboard representation of which spaces of a board are occupied and by whom.
+ * Every player's spaces are kept as a long[] holding one bit per space, laid out
+ * row by row.  A 20x20 board is 20 rows of 20 bits, which fits in seven longs.
+ * Each player's anchors are also kept up to date as spaces change hands, so that they
+ * can be visited without looking at the rest of the board
+ */
+public class BitBoard {
+	// The largest number of players a board can hold
+	public static final int MAX_PLAYERS = 4;
+	
+	// The size of the board, e.g. 20 in a 20x20 board
+	private int size;
+	
+	// The number of longs in each bitboard
+	private int words;
+	
+	// Every space occupied by any player
+	private long[] occupied;
+	
+	// The spaces occupied by each player, indexed by player number - 1
+	private long[][] owned;
+	
+	// For each player, every space sharing an edge with a space that player occupies
+	private long[][] edges;
+	
+	// For each player, every space sharing a corner with a space that player occupies
+	private long[][] corners;
+	
+	// The number of spaces occupied by each player
+	private int[] ownedCount;
+	
+	// For each player, the bit index of every anchor: a space which the player's next
+	// piece could start from, in no particular order
+	private int[][] anchorList;
+	
+	// For each player, the position of every space's bit index in anchorList, or -1
+	// for spaces which are not anchors
+	private int[][] anchorPos;
+	
+	// The number of anchors each player has
+	private int[] anchorCount;
+	
+	// The keys used to hash which player occupies each space
+	private Zobrist zobrist;
+	
+	// The XOR of the keys of every occupied space and the player occupying it
+	private long hash = 0L;
+	
+	/**
+	 * Constructs an empty bitboard for a board of the given size
+	 * 
+	 * @param size the dimension(s) of the board
+	 */
+	public BitBoard(int size) {
+		this.size = size;
+		words = (size*size + 63) / 64;
+		
+		occupied = new long[words];
+		owned = new long[MAX_PLAYERS][words];
+		edges = new long[MAX_PLAYERS][words];
+		corners = new long[MAX_PLAYERS][words];
+		
+		ownedCount = new int[MAX_PLAYERS];
+		zobrist = Zobrist.forSize(size);
+		
+		// Every player starts out with the corners of the board as its only anchors
+		anchorList = new int[MAX_PLAYERS][size*size];
+		anchorPos = new int[MAX_PLAYERS][size*size];
+		anchorCount = new int[MAX_PLAYERS];
+		for(int p = 1; p <= MAX_PLAYERS; p++) {
+			Arrays.fill(anchorPos[p-1], -1);
+			updateBoardCorners(p);
+		}
+	}
+	
+	/**
+	 * Getter for the size of the board
+	 * 
+	 * @return the number of columns and rows of the board
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Gets the number of longs that make up each of this board's bitboards
+	 * 
+	 * @return the length of every bitboard array
+	 */
+	public int getWords() {
+		return words;
+	}
+	
+	/**
+	 * Returns whether the given coordinates define a space on the board
+	 * 
+	 * @param col a column
+	 * @param row a row
+	 * @return true if (col, row) is on the board and false otherwise
+	 */
+	public boolean contains(int col, int row) {
+		return 0 <= col && col < size && 0 <= row && row < size;
+	}
+	
+	/**
+	 * Gets whether or not the space at the given coordinates is occupied
+	 * 
+	 * @param col the column of the space
+	 * @param row the row of the space
+	 * @return true if any player occupies the space and false otherwise
+	 */
+	public boolean isOccupied(int col, int row) {
+		return test(occupied, bit(col, row));
+	}
+	
+	/**
+	 * Gets the hash of which player occupies each space, which is kept up to date as
+	 * spaces are occupied and unoccupied
+	 * 
+	 * @return the XOR of the Zobrist keys of every occupied space
+	 */
+	public long getHash() {
+		return hash;
+	}
+	
+	/**
+	 * Getter for the Zobrist keys this bitboard hashes its spaces with
+	 * 
+	 * @return the keys for a board of this size
+	 */
+	public Zobrist getZobrist() {
+		return zobrist;
+	}
+	
+	/**
+	 * Gets the number of the player occupying the space at the given coordinates
+	 * 
+	 * @param col the column of the space
+	 * @param row the row of the space
+	 * @return the number of the occupying player, or 0 if the space is unoccupied
+	 */
+	public int occupyingPlayer(int col, int row) {
+		int b = bit(col, row);
+		if(! test(occupied, b)) return 0;
+		
+		for(int p = 0; p < MAX_PLAYERS; p++) {
+			if(test(owned[p], b)) return p+1;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Gets whether the space at the given coordinates shares an edge with a space
+	 * occupied by the given player
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of a player
+	 * @return true if the space is directly beside one of pNum's spaces
+	 */
+	public boolean touchesEdge(int col, int row, int pNum) {
+		return test(edges[pNum-1], bit(col, row));
+	}
+	
+	/**
+	 * Gets whether the space at the given coordinates shares a corner with a space
+	 * occupied by the given player
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of a player
+	 * @return true if the space is diagonal to one of pNum's spaces
+	 */
+	public boolean touchesCorner(int col, int row, int pNum) {
+		return test(corners[pNum-1], bit(col, row));
+	}
+	
+	/**
+	 * Gets whether the given player is barred from the space at the given coordinates,
+	 * that is, whether the space is occupied or directly beside one of the player's spaces
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of a player
+	 * @return true if none of pNum's pieces may cover the space
+	 */
+	public boolean isBlocked(int col, int row, int pNum) {
+		int b = bit(col, row);
+		return test(occupied, b) || test(edges[pNum-1], b);
+	}
+	
+	/**
+	 * Gets whether the space at the given coordinates is an anchor for the given player,
+	 * that is, a space one of the player's next pieces could start from.  Until a player
+	 * occupies any space its anchors are the free corners of the board, after that they
+	 * are the spaces diagonal to one of the player's spaces which it is not barred from
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of a player
+	 * @return true if pNum may start a piece from the space
+	 */
+	public boolean isAnchor(int col, int row, int pNum) {
+		int b = bit(col, row);
+		if(test(occupied, b) || test(edges[pNum-1], b)) return false;
+		
+		if(ownedCount[pNum-1] == 0) return (col == 0 || col == size-1) && (row == 0 || row == size-1);
+		return test(corners[pNum-1], b);
+	}
+	
+	/**
+	 * Gets the number of anchors the given player currently has
+	 * 
+	 * @param pNum the number of a player
+	 * @return the number of spaces pNum may start a piece from
+	 */
+	public int getNumAnchors(int pNum) {
+		return anchorCount[pNum-1];
+	}
+		
+	/**
+	 * Gets one of the given player's anchors.  Anchors are kept in no particular order,
+	 * and the order changes whenever a space is occupied or unoccupied
+	 * 
+	 * @param pNum the number of a player
+	 * @param i    a value from 0 up to getNumAnchors(pNum)
+	 * @return the bit index of the i-th anchor
+	 */
+	public int getAnchor(int pNum, int i) {
+		return anchorList[pNum-1][i];
+	}
+	
+	/**
+	 * Counts the spaces occupied by the given player
+	 * 
+	 * @param pNum the number of a player
+	 * @return how many spaces pNum occupies
+	 */
+	public int countOwned(int pNum) {
+		return ownedCount[pNum-1];
+	}
+	
+	/**
+	 * Copies the spaces occupied by the given player into an array, one bit per space
+	 * laid out as by bit
+	 * 
+	 * @param pNum   the number of a player
+	 * @param dest   the array to copy into
+	 * @param offset where in dest the player's getWords() words start
+	 */
+	public void copyOwned(int pNum, long[] dest, int offset) {
+		System.arraycopy(owned[pNum-1], 0, dest, offset, words);
+	}
+	
+	/**
+	 * Occupies the space at the given coordinates by the given player
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of the player now occupying the space
+	 */
+	public void occupy(int col, int row, int pNum) {
+		// A space taken over by another player must first be released by its old owner
+		if(isOccupied(col, row)) unoccupy(col, row);
+		
+		int b = bit(col, row);
+		set(occupied, b);
+		set(owned[pNum-1], b);
+		ownedCount[pNum-1]++;
+		hash ^= zobrist.cell(pNum, b);
+		
+		// A new space can only add contacts, so the player's edge and corner boards
+		// are updated in place
+		long[] edge = edges[pNum-1];
+		long[] corner = corners[pNum-1];
+		if(contains(col, row-1))   set(edge, b - size);
+		if(contains(col+1, row))   set(edge, b + 1);
+		if(contains(col, row+1))   set(edge, b + size);
+		if(contains(col-1, row))   set(edge, b - 1);
+		if(contains(col-1, row-1)) set(corner, b - size - 1);
+		if(contains(col+1, row-1)) set(corner, b - size + 1);
+		if(contains(col-1, row+1)) set(corner, b + size - 1);
+		if(contains(col+1, row+1)) set(corner, b + size + 1);
+		
+		updateAnchors(col, row, pNum);
+		
+		// The player's first space takes away the corners of the board as its anchors
+		if(ownedCount[pNum-1] == 1) updateBoardCorners(pNum);
+	}
+	
+	/**
+	 * Unoccupies the space at the given coordinates, if it is occupied
+	 * 
+	 * @param col the column of the space
+	 * @param row the row of the space
+	 */
+	public void unoccupy(int col, int row) {
+		int pNum = occupyingPlayer(col, row);
+		if(pNum == 0) return;
+		
+		int b = bit(col, row);
+		clear(occupied, b);
+		clear(owned[pNum-1], b);
+		ownedCount[pNum-1]--;
+		hash ^= zobrist.cell(pNum, b);
+		
+		// Another of the player's spaces may still touch the neighbours of this one, so
+		// the contacts of the space and its neighbours are worked out again from scratch
+		for(int r = row-1; r <= row+1; r++) {
+			for(int c = col-1; c <= col+1; c++) {
+				if(contains(c, r)) refresh(c, r, pNum);
+			}
+		}
+		
+		updateAnchors(col, row, pNum);
+		
+		// A player left without any spaces starts again from the corners of the board
+		if(ownedCount[pNum-1] == 0) updateBoardCorners(pNum);
+	}
+	
+	/**
+	 * Works out whether the space at the given coordinates shares an edge or a corner
+	 * with a space occupied by the given player, from the spaces around it
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of a player
+	 */
+	private void refresh(int col, int row, int pNum) {
+		long[] own = owned[pNum-1];
+		int b = bit(col, row);
+		
+		if(owns(own, col, row-1) || owns(own, col+1, row) || owns(own, col, row+1) || 
+				owns(own, col-1, row))
+			set(edges[pNum-1], b);
+		else
+			clear(edges[pNum-1], b);
+		
+		if(owns(own, col-1, row-1) || owns(own, col+1, row-1) || owns(own, col-1, row+1) || 
+				owns(own, col+1, row+1))
+			set(corners[pNum-1], b);
+		else
+			clear(corners[pNum-1], b);
+	}
+		
+	/**
+	 * Brings the anchors up to date after the space at the given coordinates changed
+	 * hands.  Only the space itself and, for the player who gained or lost it, the eight
+	 * spaces around it can have become or stopped being anchors
+	 * 
+	 * @param col  the column of the space that changed
+	 * @param row  the row of the space that changed
+	 * @param pNum the number of the player who occupied or unoccupied the space
+	 */
+	private void updateAnchors(int col, int row, int pNum) {
+		for(int r = row-1; r <= row+1; r++) {
+			for(int c = col-1; c <= col+1; c++) {
+				if(contains(c, r)) updateAnchor(c, r, pNum);
+			}
+		}
+		
+		for(int p = 1; p <= MAX_PLAYERS; p++) {
+			if(p != pNum) updateAnchor(col, row, p);
+		}
+	}
+	
+	/**
+	 * Brings the anchors of a player at the four corners of the board up to date, for
+	 * when the player occupies its first space or gives up its last
+	 * 
+	 * @param pNum the number of a player
+	 */
+	private void updateBoardCorners(int pNum) {
+		updateAnchor(0, 0, pNum);
+		updateAnchor(size-1, 0, pNum);
+		updateAnchor(0, size-1, pNum);
+		updateAnchor(size-1, size-1, pNum);
+	}
+	
+	/**
+	 * Adds the space at the given coordinates to, or removes it from, a player's list of
+	 * anchors according to whether it is an anchor now
+	 * 
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @param pNum the number of a player
+	 */
+	private void updateAnchor(int col, int row, int pNum) {
+		int b = bit(col, row);
+		int[] list = anchorList[pNum-1];
+		int[] pos = anchorPos[pNum-1];
+		boolean anchor = isAnchor(col, row, pNum);
+		
+		if(anchor && pos[b] < 0) {
+			pos[b] = anchorCount[pNum-1]++;
+			list[pos[b]] = b;
+		} else if(! anchor && pos[b] >= 0) {
+			// Fill the gap with the last anchor in the list
+			int last = list[--anchorCount[pNum-1]];
+			list[pos[b]] = last;
+			pos[last] = pos[b];
+			pos[b] = -1;
+		}
+	}
+	
+	/**
+	 * Gets whether a player occupies the space at the given coordinates, which need not
+	 * be on the board
+	 * 
+	 * @param own the bitboard of a player's spaces
+	 * @param col a column
+	 * @param row a row
+	 * @return true if (col, row) is on the board and set in own
+	 */
+	private boolean owns(long[] own, int col, int row) {
+		return contains(col, row) && test(own, bit(col, row));
+	}
+	
+	/**
+	 * Gets the bit index of the space at the given coordinates
+	 * 
+	 * @param col the column of the space
+	 * @param row the row of the space
+	 * @return the position of the space's bit in every bitboard
+	 */
+	public int bit(int col, int row) {
+		return size*row + col;
+	}
+	
+	/**
+	 * Gets the column of the space with the given bit index
+	 * 
+	 * @param b the bit index of a space
+	 * @return the column of the space
+	 */
+	public int colOf(int b) {
+		return b % size;
+	}
+	
+	/**
+	 * Gets the row of the space with the given bit index
+	 * 
+	 * @param b the bit index of a space
+	 * @return the row of the space
+	 */
+	public int rowOf(int b) {
+		return b / size;
+	}
+	
+	/**
+	 * Tests a single bit of a bitboard
+	 * 
+	 * @param board a bitboard
+	 * @param b     the index of the bit to test
+	 * @return true if the bit is set
+	 */
+	private static boolean test(long[] board, int b) {
+		return (board[b >>> 6] & (1L << b)) != 0;
+	}
+	
+	/**
+	 * Sets a single bit of a bitboard
+	 * 
+	 * @param board a bitboard
+	 * @param b     the index of the bit to set
+	 */
+	private static void set(long[] board, int b) {
+		board[b >>> 6] |= 1L << b;
+	}
+	
+	/**
+	 * Clears a single bit of a bitboard
+	 * 
+	 * @param board a bitboard
+	 * @param b     the index of the bit to clear
+	 */
+	private static void clear(long[] board, int b) {
+		board[b >>> 6] &= ~(1L << b);
+	}
+}
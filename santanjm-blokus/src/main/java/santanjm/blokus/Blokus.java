@@ -4,9 +4,33 @@ import santanjm.blokus.*;
 
 public class Blokus {
 	
+	/**
+	 * Starts a game.  The arguments are the number of players, the size of the board,
+	 * and optionally how many of the players are human (the rest are played by the
+	 * computer), the computer's search (maxn, paranoid or mcts) and the time it may take for
+	 * each move in milliseconds
+	 * 
+	 * @param args numPlayers size [humans [maxn|paranoid|mcts [millis]]]
+	 */
 	public static void main(String[] args) {
 		try {
-			Board b = new Board(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+			int numPlayers = Integer.parseInt(args[0]);
+			Board b = new Board(numPlayers, Integer.parseInt(args[1]));
+			
+			// Every seat after the human players gets a computer player
+			int humans = args.length > 2 ? Integer.parseInt(args[2]) : numPlayers;
+			String search = args.length > 3 ? args[3] : "paranoid";
+			if(search.equals("maxn") == false && search.equals("paranoid") == false
+					&& search.equals("mcts") == false) {
+				throw new IllegalArgumentException("Unknown search " + search);
+			}
+			long millis = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+			for(int pNum = humans + 1; pNum <= numPlayers; pNum++) {
+				if(search.equals("mcts")) b.setPlayer(new MctsPlayer(b, pNum, millis));
+				else if(search.equals("maxn")) b.setPlayer(new SearchPlayer(b, pNum, SearchPlayer.MAXN, millis));
+				else b.setPlayer(new SearchPlayer(b, pNum, SearchPlayer.PARANOID, millis));
+			}
+			
 			b.gameLoop();
 		} catch(Exception e) {
 			System.err.println(e.getMessage());
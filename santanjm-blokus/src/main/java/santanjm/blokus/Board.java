@@ -1,9 +1,8 @@
 package santanjm.blokus;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-
-import javax.swing.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import santanjm.blokus.*;
 
@@ -20,18 +19,64 @@ public class Board {
 	// The number of players in the game
 	private int numPlayers;
 	
-	// The player whose turn it currently is
-	private Player active;
+	// The player whose turn it currently is, written by the game loop and read by the
+	// keyboard on the event dispatch thread
+	private volatile Player active;
 	
-	// The piece currently selected for placement by the active player
-	private Nomino selected;
+	// The piece currently selected for placement by the active player, changed by both
+	// the game loop and the keyboard
+	private volatile Nomino selected;
 	
 	// The current turn number
 	private int turn = 0;
 	
-	// The Grid Panel in which the game is displayed
-	public GridPanel gridpanel;
-
+	// The turn that the game loop is waiting on a move for, or -1 while it is not waiting.
+	// It is written after active and selected, so a thread which reads it first sees the
+	// player and piece of that turn
+	private volatile int turnInPlay = -1;
+	
+	// Moves submitted to the game loop, each packed with the turn it is for in the high
+	// 32 bits
+	private BlockingQueue<Long> submitted = new LinkedBlockingQueue<Long>();
+	
+	// The bitboard recording which spaces each player occupies
+	private BitBoard bits;
+	
+	// Every move made with makeMove which has not been unmade yet, most recent last
+	private int[] history = new int[64];
+	
+	// Whether the player who made each move in history had already passed before it
+	private boolean[] passedBefore = new boolean[64];
+	
+	// The number of moves in history
+	private int historySize = 0;
+	
+	// The pieces each player has been proven unable to place, one bit per piece id, by
+	// number - 1.  Other players' moves only fill up spaces, so a proof holds until the
+	// move it was made after is unmade, or until the player places a piece of its own,
+	// which can give it new anchors
+	private int[] unplaceable;
+	
+	// Every proof recorded in unplaceable, in the order they were made, each packed as
+	// the number of moves made at the time << 16 | player number << 8 | piece id
+	private int[] proofs = new int[64];
+	
+	// The number of proofs
+	private int numProofs = 0;
+	
+	// The size of the region each anchor is in, as last measured by hasLegalMove
+	private int[] anchorRegions = new int[64];
+	
+	// The spaces of the region being measured around an anchor
+	private int[] region = new int[PieceCatalog.MAX_CLASSIFICATION];
+	
+	// The XOR of the Zobrist keys of every piece placed and every player who has passed;
+	// the keys of the occupied spaces are kept by the bitboard
+	private long hash = 0L;
+	
+	// Everything listening to this board for changes to its spaces, such as its view
+	private List<BoardListener> listeners = new ArrayList<BoardListener>();
+	
 	/**
 	 * Creates a new Board with a grid size of 20x20
 	 */
@@ -39,9 +84,9 @@ public class Board {
 		// A standard Blokus board is 20x20, that is, 400 spaces
 		size = 20;
 		spaces = new Space[size*size];
+		bits = new BitBoard(size);
 		
 		// Now create the grid
-		gridpanel = new GridPanel();
 		createGrid();
 	}
 	
@@ -49,12 +94,12 @@ public class Board {
 	 * Constructs a standard sized Blokus board with the designated number of players
 	 * 
 	 * @param numPlayers the number of players on this board
+	 * @throws IllegalArgumentException if there are not between 1 and
+	 *                                  BitBoard.MAX_PLAYERS players
 	 */
-	public Board(int numPlayers) {
+	public Board(int numPlayers) throws IllegalArgumentException {
 		this();
-		players = new Player[numPlayers];
-		this.numPlayers = numPlayers;
-		for(int i = 0; i < numPlayers; i++) players[i] = new Player(this, i+1);
+		createPlayers(numPlayers);
 	}
 	
 	/**
@@ -62,15 +107,34 @@ public class Board {
 	 * 
 	 * @param numPlayers the number of players on this board
 	 * @param size       the dimension(s) of the board
+	 * @throws IllegalArgumentException if there are not between 1 and
+	 *                                  BitBoard.MAX_PLAYERS players
 	 */
-	public Board(int numPlayers, int size) {
+	public Board(int numPlayers, int size) throws IllegalArgumentException {
 		this.size = size;
 		spaces = new Space[size*size];
-		gridpanel = new GridPanel();
+		bits = new BitBoard(size);
 		createGrid();
+		createPlayers(numPlayers);
+	}
+	
+	/**
+	 * Seats a plain player for each player number on this board
+	 * 
+	 * @param numPlayers the number of players on this board
+	 * @throws IllegalArgumentException if there are not between 1 and
+	 *                                  BitBoard.MAX_PLAYERS players
+	 */
+	private void createPlayers(int numPlayers) throws IllegalArgumentException {
+		// The bitboard only keeps the spaces of up to MAX_PLAYERS players
+		if(numPlayers < 1 || numPlayers > BitBoard.MAX_PLAYERS) {
+			throw new IllegalArgumentException("A board holds 1 to " + BitBoard.MAX_PLAYERS
+					+ " players, not " + numPlayers);
+		}
 		players = new Player[numPlayers];
 		this.numPlayers = numPlayers;
 		for(int i = 0; i < numPlayers; i++) players[i] = new Player(this, i+1);
+		unplaceable = new int[numPlayers];
 	}
 	
 	/**
@@ -81,8 +145,7 @@ public class Board {
 		// number of columns and rows
 		for(int i = 0; i < size; i++) {
 			for(int j = 0; j < size; j++) {
-				spaces[size*i + j] = new Space(j, i);
-				gridpanel.addSpace(spaces[size*i + j]);
+				spaces[size*i + j] = new Space(j, i, bits);
 			}
 		}
 	}
@@ -104,6 +167,36 @@ public class Board {
 		active = getPlayerFromNum((turn % numPlayers) + 1);
 	}
 	
+	/**
+	 * Gets the player whose turn it is, that is, players[turn mod numPlayers].  This is
+	 * the player that makeMove makes moves for
+	 * 
+	 * @return the player to move
+	 */
+	public Player getPlayerToMove() {
+		return players[turn % numPlayers];
+	}
+	
+	/**
+	 * Getter for the current turn number
+	 * 
+	 * @return the number of turns taken so far, counting passes
+	 */
+	public int getTurn() {
+		return turn;
+	}
+	
+	/**
+	 * Gets the turn the game loop is waiting on a move for.  Reading it before
+	 * getActivePlayer and getSelectedPiece, and checking it has not changed after, makes
+	 * sure that they belong to this turn
+	 * 
+	 * @return the turn in play, or -1 if the game loop is not waiting on a move
+	 */
+	public int getTurnInPlay() {
+		return turnInPlay;
+	}
+	
 	/**
 	 * Getter for the piece currently selected by the active player
 	 * 
@@ -185,21 +278,29 @@ public class Board {
 	 * Method that executes the game's loop
 	 */
 	public void gameLoop() {
+		// The view of the board, which listens to it for changes
+		BoardView view = new BoardView(this);
+		
 		// The InputListener which will listen to player keyboard inputs
 		InputListener il = new InputListener(this);
-		gridpanel.setFocusable(true);
-		gridpanel.addKeyListener(il);
-		
-		// The Frame in which the game will be displayed
-		JFrame gameframe = new JFrame("Blokus");
-		gameframe.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		gameframe.setResizable(false);
-		gameframe.add(gridpanel);
-		gameframe.pack();
-		gameframe.setSize(gameframe.getPreferredSize());
-		gameframe.setVisible(true);
-		
-		// Begin the actual game loop
+		view.getGridPanel().setFocusable(true);
+		view.getGridPanel().addKeyListener(il);
+		view.display();
+		
+		// Display the game's results once it is over
+		playGame();
+		if(allPlayersPassed()) displayResults();
+	}
+	
+	/**
+	 * Plays the game on this board from the current turn until every player has passed.
+	 * Each turn waits for the active player's move to be submitted with submitMove, from
+	 * any thread, and plays it as soon as it arrives.  A player with no legal move is
+	 * passed without waiting.  Nothing here depends on the board being displayed, and
+	 * nothing is printed.  If the thread is interrupted while waiting for a move, the game
+	 * stops there and the thread is left interrupted
+	 */
+	public void playGame() {
 		while(true) {
 			// First set the active player
 			setActivePlayer();
@@ -215,32 +316,114 @@ public class Board {
 				continue;
 			}
 			
+			// A player who has no legal move left can only pass, so pass for them
+			if(! hasLegalMove(active)) {
+				setPassed(active, true);
+				turn++;
+				continue;
+			}
+			
 			// The currently selected piece by the active player
 			selected = active.getNextNotPlacedPiece();
 			
 			// Start the selected piece in the top left corner of the grid (hovering)
-			hoverPiece(selected, size/2 - 1, size/2 - 1);
+			if(active.isHuman()) hoverPiece(selected, size/2 - 1, size/2 - 1);
 			
-			// Set the Input Listener's turn over flag to false
-			il.turnOver = false;
+			// Moves may now be submitted for this turn
+			turnInPlay = turn;
+			active.takeTurn(this);
 			
-			// Wait for the active player for finish their turn
-			while(! il.turnOver) {
-				try {
-					TimeUnit.MILLISECONDS.sleep(50);
-				}catch(InterruptedException ie) {
-					System.err.println(ie.getMessage());
-				}
+			// Wait for the active player to finish their turn
+			int move;
+			try {
+				move = takeMove();
+			} catch(InterruptedException ie) {
+				// Leave the interrupt for whoever called this to see
+				Thread.currentThread().interrupt();
+				return;
 			}
+			
+			// No more moves are taken until the next turn is in play
+			turnInPlay = -1;
+			playMove(move);
 			turn++;
 		}
-		// Display the game's results
-		displayResults();
 	}
 	
 	/**
-	 * Displays the results of the game, each player and the number of spaces they
-	 * occupied at the end of the game
+	 * Submits a move for the turn currently in play.  A move submitted while the game
+	 * loop is not waiting on one is ignored
+	 * 
+	 * @param move a packed move (see Move) for the active player, or Move.PASS
+	 */
+	public void submitMove(int move) {
+		submitMove(turnInPlay, move);
+	}
+	
+	/**
+	 * Submits a move for the given turn, which the game loop will play as soon as that
+	 * turn is in play, if it is legal.  Moves for turns that have already been played are
+	 * ignored, so a move sent twice, or sent late, can never be played for the wrong
+	 * player.  May be called from any thread
+	 * 
+	 * @param turn the number of the turn the move is for
+	 * @param move a packed move (see Move) for the player whose turn it is, or Move.PASS
+	 */
+	public void submitMove(int turn, int move) {
+		submitted.offer(((long) turn << 32) | (move & 0xffffffffL));
+	}
+	
+	/**
+	 * Waits until a legal move is submitted for the turn in play
+	 * 
+	 * @return the move, which is Move.PASS or one of the active player's legal moves
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	private int takeMove() throws InterruptedException {
+		// Every move the active player could make
+		MoveList legal = generateMoves(active);
+		
+		while(true) {
+			long submission = submitted.take();
+			if((int) (submission >>> 32) != turn) continue;
+			
+			// A submission which is not a move at all is rejected before it is unpacked
+			int move = (int) submission;
+			if(Move.isValid(move)) {
+				move = Move.canonical(move);
+				if(move == Move.PASS || legal.contains(move)) return move;
+			}
+			fireMoveRejected(move);
+		}
+	}
+	
+	/**
+	 * Plays a move for the active player, placing the piece and showing it on the board,
+	 * or passing the player's turns for the rest of the game
+	 * 
+	 * @param move a legal packed move for the active player, or Move.PASS
+	 */
+	private void playMove(int move) {
+		// The selected piece no longer hovers over the board once the turn is over
+		if(active.isHuman()) {
+			int[] coords = selected.getCoords();
+			dehoverPiece(selected, coords[0], coords[1]);
+		}
+		
+		if(move == Move.PASS) {
+			setPassed(active, true);
+			return;
+		}
+		
+		// The piece may have been chosen without being selected, so turn it to match the move
+		Nomino n = active.getPieceById(Move.getPiece(move));
+		n.setOrientation(Move.getOrientation(move));
+		placePiece(n, Move.getCol(move), Move.getRow(move));
+	}
+	
+	/**
+	 * Displays the results of the game, each player's score by the official rules and the
+	 * number of spaces they occupied at the end of the game
 	 */
 	public void displayResults() {
 		StringBuilder results = new StringBuilder("The game has ended!\n");
@@ -248,8 +431,10 @@ public class Board {
 			results.append("Player ");
 			results.append(p.getPlayerNum());
 			results.append(": ");
+			results.append(p.getScore());
+			results.append(" points (");
 			results.append(p.getNumberOfSpacesOccupied());
-			results.append("\n");
+			results.append(" spaces)\n");
 		}
 		System.out.println(results.toString());
 	}
@@ -267,18 +452,72 @@ public class Board {
 		// First:  Check that n has not already been placed
 		if(n.isPlaced()) return false;
 		
-		// Second: Check to ensure that the placement of n will not overlap another piece
-		if(willOverlap(n, col, row)) return false;
+		// The number of the player that owns n
+		int ownerNum = n.getOwnerNum();
 		
-		// Third:  Ensure that no part of n will be directly touching another piece
-		//         that is owned by the same player who owns n
-		if(willTouchOwnedPiece(n, col, row)) return false;
+		// Whether at least one nomino of n meets a piece owned by n's owner at a corner
+		boolean diagonal = false;
 		
-		// Fourth: Make sure that at least one nomino attached to n meets another
-		//         piece owned by the same player who owns n at a corner
-		if(isDiagonalToOwnedPiece(n, col, row)) return true;
+		// The spaces a catalog piece covers are looked up in the catalog instead, which
+		// neither moves n nor allocates anything
+		if(n.getPieceId() >= 0) {
+			int[] offsets = PieceCatalog.getOffsets(n.getPieceId(), n.getOrientation());
+			for(int k = 0; k < offsets.length; k += 2) {
+				int c = col + offsets[k];
+				int r = row + offsets[k+1];
+				if(! bits.contains(c, r)) return false;
+				if(bits.isBlocked(c, r, ownerNum)) return false;
+				if(bits.touchesCorner(c, r, ownerNum)) diagonal = true;
+			}
+			return diagonal;
+		}
 		
-		return false;
+		for(Nomino att : hold(n, col, row)) {
+			int[] coords = att.getCoords();
+			
+			// Second: Every nomino of n must land on the board, on a space that is not
+			//         occupied and not directly beside a piece owned by n's owner
+			if(! bits.contains(coords[0], coords[1])) return false;
+			if(bits.isBlocked(coords[0], coords[1], ownerNum)) return false;
+			
+			// Third:  At least one of them must touch an owned piece at a corner
+			if(bits.touchesCorner(coords[0], coords[1], ownerNum)) diagonal = true;
+		}
+		return diagonal;
+	}
+	
+	/**
+	 * Checks whether a packed move is legal for the given player, on their first turn or
+	 * any other: the piece must not have been placed, and must cover only spaces the
+	 * player may cover, one of which is an anchor.  Nothing is allocated and no Nomino
+	 * or Space is touched, so this is cheap enough to call in a search
+	 * 
+	 * @param p    any of the players in the current game
+	 * @param move a packed move (see Move) other than Move.PASS
+	 * @return true if p may make the move, and false if it is not a move at all (see
+	 *         Move.isValid)
+	 * @throws IllegalArgumentException if the move is Move.PASS
+	 */
+	public boolean isLegal(Player p, int move) throws IllegalArgumentException {
+		if(move == Move.PASS) throw new IllegalArgumentException("Passing is not a placement");
+		if(! Move.isValid(move)) return false;
+		if((p.getRemainingMask() & (1 << Move.getPiece(move))) == 0) return false;
+		
+		// The number of player p
+		int pNum = p.getPlayerNum();
+		
+		// Whether the piece covers one of p's anchors
+		boolean anchored = false;
+		
+		int[] offsets = PieceCatalog.getOffsets(Move.getPiece(move), Move.getOrientation(move));
+		for(int k = 0; k < offsets.length; k += 2) {
+			int col = Move.getCol(move) + offsets[k];
+			int row = Move.getRow(move) + offsets[k+1];
+			if(! bits.contains(col, row)) return false;
+			if(bits.isBlocked(col, row, pNum)) return false;
+			if(bits.isAnchor(col, row, pNum)) anchored = true;
+		}
+		return anchored;
 	}
 	
 	/**
@@ -292,18 +531,26 @@ public class Board {
 	 * @return true if n's placement consititues a legal first turn move and false otherwise
 	 */
 	public boolean isLegalFirstTurn(Nomino n, int col, int row) {
+		// A catalog piece is checked from the catalog, without moving it or allocating
+		if(n.getPieceId() >= 0) {
+			boolean corner = false;
+			int[] offsets = PieceCatalog.getOffsets(n.getPieceId(), n.getOrientation());
+			for(int k = 0; k < offsets.length; k += 2) {
+				int c = col + offsets[k];
+				int r = row + offsets[k+1];
+				if(! bits.contains(c, r) || bits.isOccupied(c, r)) return false;
+				if((c == 0 || c == size-1) && (r == 0 || r == size-1)) corner = true;
+			}
+			return corner;
+		}
+		
 		// First: Check to ensure that the placement of n will not overlap another piece
 		if(willOverlap(n, col, row)) return false;
 		
 		// Second: Ensure that n is being placed in a corner of the board
-		n.setCoords(col, row);
-		Nomino[] attached = n.searchAllUnique(n.walk());
-		for(Nomino att : attached) {
+		for(Nomino att : hold(n, col, row)) {
 			int[] coords = att.getCoords();
-			if((coords[0] == 0 && coords[1] == 0) ||
-			   (coords[0] == size-1 && coords[1] == 0) ||
-			   (coords[0] == 0 && coords[1] == size-1) ||
-			   (coords[0] == size-1 && coords[1] == size-1))
+			if((coords[0] == 0 || coords[0] == size-1) && (coords[1] == 0 || coords[1] == size-1))
 				return true;
 		}
 		return false;
@@ -311,7 +558,8 @@ public class Board {
 	
 	/**
 	 * Method which checks whether or not a nomino, if placed at a certain cell in
-	 * the gird, would overlap any pieces already in play
+	 * the gird, would overlap any pieces already in play.  A nomino which would hang
+	 * off the edge of the grid is treated as overlapping
 	 * 
 	 * @param n   the nomino that is attempting to be placed
 	 * @param col the column in which n is attempting to be placed
@@ -320,23 +568,14 @@ public class Board {
 	 */
 	public boolean willOverlap(Nomino n, int col, int row) {
 		// If the space at (col, row) is occupied already, then return true right away
-		if(spaces[size*row + col].isOccupied()) return true;
-		
-		// Set the coordinates of n (and all attached nominos), this amounts to
-		// holding n over the board without placing it down
-		n.setCoords(col, row);
-		
-		// Next, if n is a single monomino, then at this point we can simply return false
-		if(n.getClassification() == 1) return false;
-		
-		// Every nomino (including n) that is attached to n
-		Nomino[] attached = n.searchAllUnique(n.walk());
+		if(bits.isOccupied(col, row)) return true;
 		
 		// For each attached nomino, check the space that is would occupy if placed,
 		// if even one of those spaces is already occupied, then return true
-		for(Nomino att : attached) {
+		for(Nomino att : hold(n, col, row)) {
 			int[] coords = att.getCoords();
-			if(spaces[size*coords[1] + coords[0]].isOccupied()) return true;
+			if(! bits.contains(coords[0], coords[1])) return true;
+			if(bits.isOccupied(coords[0], coords[1])) return true;
 		}
 		
 		return false;
@@ -356,35 +595,11 @@ public class Board {
 		// The number of the player that owns n
 		int ownerNum = n.getOwnerNum();
 		
-		// Set the coordinates of n (and all attached nominos), this amounts to
-		// holding n over the board without placing it down
-		n.setCoords(col, row);
-		
-		// Every nomino that is attached to n (including n itself) as a set
-		Set<Nomino> attached = new HashSet<Nomino>(Arrays.asList(n.searchAllUnique(n.walk())));
-		
-		// Iterator on the set
-		Iterator<Nomino> attItr = attached.iterator();
-		
-		while(attItr.hasNext()) {
-			Nomino curr = attItr.next();
-			
-			// The coordinates of curr
-			int[] coords = curr.getCoords();
-			
-			// The space that curr is trying to occupy
-			Space currSpace = spaces[size*coords[1] + coords[0]];
-			
-			// The sides of curr that are null
-			Direction[] nullSides = curr.nullSides();
-			
-			if(nullSides != null) {
-				for(Direction dir : nullSides) {
-					Space adj = findAdjacent(currSpace, dir);
-					if(adj != null && (adj.isOccupied() && adj.occupyingPlayer() == ownerNum)) 
-						return true;
-				}
-			}
+		for(Nomino att : hold(n, col, row)) {
+			int[] coords = att.getCoords();
+			if(bits.contains(coords[0], coords[1]) && 
+					bits.touchesEdge(coords[0], coords[1], ownerNum)) 
+				return true;
 		}
 		return false;
 	}
@@ -392,7 +607,7 @@ public class Board {
 	/**
 	 * Tests whether or not placing a nomino at a given space on the board will
 	 * mean that nomino will touch another nomino previously placed by the same
-	 * player at any of its open corners
+	 * player at any of its corners
 	 * 
 	 * @param n   the nomino that is attempting to be placed
 	 * @param col the column in which n is attempting to be placed
@@ -402,92 +617,31 @@ public class Board {
 	public boolean isDiagonalToOwnedPiece(Nomino n, int col, int row) {
 		// The number of the player that owns n
 		int ownerNum = n.getOwnerNum();
-				
+		
+		for(Nomino att : hold(n, col, row)) {
+			int[] coords = att.getCoords();
+			if(bits.contains(coords[0], coords[1]) && 
+					bits.touchesCorner(coords[0], coords[1], ownerNum)) 
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Holds a nomino over the board at the given coordinates without placing it,
+	 * returning every nomino attached to it (including itself)
+	 * 
+	 * @param n   any nomino
+	 * @param col the column over which to hold n
+	 * @param row the row over which to hold n
+	 * @return every nomino that is attached to n, including n
+	 */
+	private Nomino[] hold(Nomino n, int col, int row) {
 		// Set the coordinates of n (and all attached nominos), this amounts to
 		// holding n over the board without placing it down
 		n.setCoords(col, row);
 		
-		// Every nomino that is attached to n (including n itself) as a set
-		Set<Nomino> attached = new HashSet<Nomino>(Arrays.asList(n.searchAllUnique(n.walk())));
-		
-		// Iterator on the set
-		Iterator<Nomino> attItr = attached.iterator();
-		
-		while(attItr.hasNext()) {
-			Nomino curr = attItr.next();
-			
-			// The coordinates of curr
-			int[] coords = curr.getCoords();
-			
-			// The space with those coordinates
-			Space s = spaces[size*coords[1] + coords[0]];
-			
-			// The number of null sides that curr has
-			Direction[] nullSides = curr.nullSides();
-			
-			// The diagonal space to check
-			Space diag;
-			
-			if(nullSides != null) {
-				switch(nullSides.length) {
-				// If curr has 0 or 1 null sides, then there are no diagonals worth checking
-				case 0:
-				case 1:
-					continue;
-				// If curr has exactly 2 null sides, then ther is 0 or 1 diagonal to check depending
-				case 2:
-					// If the 2 null sides of curr are opposite of each other, then
-					// we don't need to check any diagonals
-					if(nullSides[0].equals(nullSides[1].opposite())) continue;
-					
-					// Otherwise, we need to check the diagonal that does not touch
-					// either of the nominos attached to curr
-					diag = find(s, nullSides[0], nullSides[1]);
-					
-					if(diag != null && (diag.isOccupied() && diag.occupyingPlayer() == ownerNum))
-						return true;
-				// If curr has exactly 3 null sides, then there is 2 diagonals to check
-				case 3:
-					// The one side of curr that is not null
-					Direction[] notNullSide = curr.notNullSides();
-					
-					// Start with the space in the opposite direction of the not null side
-					Space opp = find(s, notNullSide[0].opposite());
-					if(opp != null) {
-						for(Direction dir : nullSides) {
-							if(! dir.equals(notNullSide[0].opposite())) {
-								diag = find(opp, dir);
-								if(diag != null && 
-										(diag.isOccupied() && diag.occupyingPlayer() == ownerNum))
-									return true;
-							}
-						}
-					}
-				case 4:
-					// First check the space northwest of n
-					Space nw = find(s, Direction.TOP, Direction.LEFT);
-					if(nw != null && (nw.isOccupied() && nw.occupyingPlayer() == ownerNum)) 
-						return true;
-					
-					// Next, chekc the space northeast of n
-					Space ne = find(s, Direction.TOP, Direction.RIGHT);
-					if(ne != null && (ne.isOccupied() && ne.occupyingPlayer() == ownerNum)) 
-						return true;
-					
-					// Next, chekc the space southwest of n
-					Space sw = find(s, Direction.BOTTOM, Direction.LEFT);
-					if(sw != null && (sw.isOccupied() && sw.occupyingPlayer() == ownerNum)) 
-						return true;
-					
-					// Next, chekc the space northeast of n
-					Space se = find(s, Direction.BOTTOM, Direction.RIGHT);
-					if(se != null && (se.isOccupied() && se.occupyingPlayer() == ownerNum)) 
-						return true;
-				}
-			}
-			
-		}
-		return false;
+		return n.getCells();
 	}
 	
 	/**
@@ -508,21 +662,24 @@ public class Board {
 		n.setCoords(col, row);
 		
 		// Every nomino (including n) that is attached to n
-		Nomino[] attached = n.searchAllUnique(n.walk());
+		Nomino[] attached = n.getCells();
 		
 		// For each attached nomino, we occupy the space on the board with the same coordinates
 		for(Nomino att : attached) {
 			int[] coords = att.getCoords();
 			spaces[size*coords[1] + coords[0]].occupy(ownerNum);
-			n.getOwner().occupy(size*coords[1] + coords[0]);
+			n.getOwner().occupy();
+			fireSpaceChanged(spaces[size*coords[1] + coords[0]]);
 		}
 		
 		// Flag the nomino as having been placed on the board
 		n.place();
-		owner.remainingPieces--;
+		owner.piecePlaced(n);
+		forgetProofsOf(ownerNum);
+		if(n.getPieceId() >= 0) hash ^= bits.getZobrist().piece(ownerNum, n.getPieceId());
 		
 		// If the owner of n now has zero pieces left, flag them as passable on all future turns
-		if(owner.remainingPieces == 0) owner.setHasPassed();
+		if(owner.remainingPieces == 0) setPassed(owner, true);
 		
 		// Finally, dehover this piece as it has been placed
 		dehoverPiece(n, col, row);
@@ -531,25 +688,284 @@ public class Board {
 	/**
 	 * (TESTING PURPOSES ONLY)
 	 * Removes a piece from the board, unoccupying any spaces it was occupying
-	 * and marking it as not having been placed
+	 * and marking it as not having been placed.  A piece which is not placed is
+	 * left alone, as the spaces under it may belong to someone else
 	 * 
 	 * @param n the nomino to deplace
 	 */
 	public void deplacePiece(Nomino n) {
+		if(! n.isPlaced()) return;
+		
 		// The current coordinates of n
 		int[] coords = n.getCoords();
 		
 		// Every nomino (including n) that is attached to n
-		Nomino[] attached = n.searchAllUnique(n.walk());
+		Nomino[] attached = n.getCells();
 		
 		// For each attached monomino, find the space it occupies and unoccupy it
 		for(Nomino att : attached) {
 			coords = att.getCoords();
 			spaces[size*coords[1] + coords[0]].unoccupy();
+			n.getOwner().unoccupy();
+			fireSpaceChanged(spaces[size*coords[1] + coords[0]]);
 		}
 		
-		// Now deplace n
+		// Now deplace n, which frees spaces pieces may have been proven not to fit
+		n.getOwner().pieceRemoved(n);
 		n.deplace();
+		forgetProofs(-1);
+		if(n.getPieceId() >= 0) hash ^= bits.getZobrist().piece(n.getOwnerNum(), n.getPieceId());
+	}
+	
+	/**
+	 * Makes a move for the player whose turn it is and moves on to the next turn.  Unlike
+	 * placePiece, no Space or Nomino coordinates are touched and nothing is drawn, so a
+	 * search can make and unmake moves cheaply on the one board.  The move is not checked
+	 * for legality and should come from generateMoves
+	 * 
+	 * @param move a packed move (see Move) for the player to move, or Move.PASS
+	 * @throws IllegalArgumentException if the move's piece has already been placed
+	 */
+	public void makeMove(int move) throws IllegalArgumentException {
+		// The player whose turn it is
+		Player p = getPlayerToMove();
+		
+		// The piece being placed, if any
+		Nomino n = null;
+		if(move != Move.PASS) {
+			n = p.getPieceById(Move.getPiece(move));
+			if(n.isPlaced()) {
+				throw new IllegalArgumentException("Player " + p.getPlayerNum() + " has already placed "
+						+ "piece " + Move.getPiece(move));
+			}
+		}
+		
+		// Remember the move, and what the player's pass flag was, so it can be unmade
+		if(historySize == history.length) {
+			history = Arrays.copyOf(history, 2*historySize);
+			passedBefore = Arrays.copyOf(passedBefore, 2*historySize);
+		}
+		history[historySize] = move;
+		passedBefore[historySize] = p.getHasPassed();
+		historySize++;
+		
+		if(move == Move.PASS) {
+			setPassed(p, true);
+		} else {
+			setMoveSpaces(p, move, true);
+			n.place();
+			p.piecePlaced(n);
+			forgetProofsOf(p.getPlayerNum());
+			hash ^= bits.getZobrist().piece(p.getPlayerNum(), Move.getPiece(move));
+			
+			// A player with no pieces left passes on every future turn
+			if(p.remainingPieces == 0) setPassed(p, true);
+		}
+		turn++;
+	}
+	
+	/**
+	 * Unmakes the last move made with makeMove, putting the board, the player who made it
+	 * and the turn counter back the way they were before it
+	 * 
+	 * @throws IllegalStateException if there are no moves to unmake
+	 */
+	public void unmakeMove() throws IllegalStateException {
+		if(historySize == 0) throw new IllegalStateException("There are no moves to unmake");
+		
+		turn--;
+		historySize--;
+		forgetProofs(historySize);
+		
+		// The move being unmade and the player who made it
+		int move = history[historySize];
+		Player p = getPlayerToMove();
+		
+		if(move != Move.PASS) {
+			setMoveSpaces(p, move, false);
+			Nomino n = p.getPieceById(Move.getPiece(move));
+			n.deplace();
+			p.pieceRemoved(n);
+			hash ^= bits.getZobrist().piece(p.getPlayerNum(), Move.getPiece(move));
+		}
+		setPassed(p, passedBefore[historySize]);
+	}
+	
+	/**
+	 * Sets whether a player has passed, keeping the hash of the position up to date
+	 * 
+	 * @param p      a player on this board
+	 * @param passed whether p's turn will pass every time it comes up
+	 */
+	private void setPassed(Player p, boolean passed) {
+		if(p.getHasPassed() != passed) hash ^= bits.getZobrist().passed(p.getPlayerNum());
+		p.setHasPassed(passed);
+	}
+	
+	/**
+	 * Gets the Zobrist hash of the position on this board: which player occupies each
+	 * space, which pieces each player has placed, which players have passed and whose
+	 * turn it is.  The hash is kept up to date by every method that changes the position,
+	 * so getting it is cheap
+	 * 
+	 * @return a hash which is equal for equal positions on boards of the same size
+	 */
+	public long getHash() {
+		return bits.getHash() ^ hash ^ bits.getZobrist().toMove(getPlayerToMove().getPlayerNum());
+	}
+	
+	/**
+	 * Works out the Zobrist hash of the position on this board from scratch, which is
+	 * slow, but does not depend on it having been kept up to date
+	 * 
+	 * @return the same value as getHash()
+	 */
+	public long computeHash() {
+		Zobrist zobrist = bits.getZobrist();
+		long h = zobrist.toMove(getPlayerToMove().getPlayerNum());
+		for(int row = 0; row < size; row++) {
+			for(int col = 0; col < size; col++) {
+				int pNum = bits.occupyingPlayer(col, row);
+				if(pNum != 0) h ^= zobrist.cell(pNum, bits.bit(col, row));
+			}
+		}
+		for(Player p : players) {
+			for(int placed = ~p.getRemainingMask() & PieceCatalog.ALL_PIECES; placed != 0; placed &= placed - 1) {
+				h ^= zobrist.piece(p.getPlayerNum(), Integer.numberOfTrailingZeros(placed));
+			}
+			if(p.getHasPassed()) h ^= zobrist.passed(p.getPlayerNum());
+		}
+		return h;
+	}
+	
+	/**
+	 * Occupies or unoccupies, by the given player, every space covered by a move
+	 * 
+	 * @param p      the player who makes the move
+	 * @param move   a packed move other than Move.PASS
+	 * @param occupy true to occupy the spaces and false to unoccupy them
+	 */
+	private void setMoveSpaces(Player p, int move, boolean occupy) {
+		int[] offsets = PieceCatalog.getOffsets(Move.getPiece(move), Move.getOrientation(move));
+		for(int k = 0; k < offsets.length; k += 2) {
+			int col = Move.getCol(move) + offsets[k];
+			int row = Move.getRow(move) + offsets[k+1];
+			if(occupy) {
+				bits.occupy(col, row, p.getPlayerNum());
+				p.occupy();
+			} else {
+				bits.unoccupy(col, row);
+				p.unoccupy();
+			}
+		}
+	}
+	
+	/**
+	 * Gets the number of moves made with makeMove which have not been unmade
+	 * 
+	 * @return how many times unmakeMove can be called
+	 */
+	public int getNumMovesMade() {
+		return historySize;
+	}
+	
+	/**
+	 * Makes a new board, with plain players, in the same position as this one: the same
+	 * spaces occupied, pieces placed and players passed, with the same player to move.
+	 * Pieces hovering over this board and moves made with makeMove are not undoable on the
+	 * copy, and nothing is listening to it, so it can be searched on another thread
+	 * 
+	 * @return a copy of the position on this board
+	 */
+	public Board copyPosition() {
+		Board copy = new Board(numPlayers, size);
+		copy.restoreState(getState());
+		return copy;
+	}
+	
+	/**
+	 * Takes a snapshot of the position on this board, which is unaffected by anything
+	 * done to the board afterwards
+	 * 
+	 * @return the spaces occupied, pieces left and players passed, whether each player
+	 *         placed the monomino last, and the turn
+	 */
+	public GameState getState() {
+		int words = GameState.wordsFor(size);
+		long[] occupied = new long[numPlayers*words];
+		for(int pNum = 1; pNum <= numPlayers; pNum++) bits.copyOwned(pNum, occupied, (pNum-1)*words);
+		
+		int[] remaining = new int[numPlayers];
+		int passed = 0;
+		int monominoLast = 0;
+		for(int i = 0; i < numPlayers; i++) {
+			remaining[i] = players[i].getRemainingMask();
+			if(players[i].getHasPassed()) passed |= 1 << i;
+			
+			Nomino last = players[i].getLastPlaced();
+			if(last != null && last.getClassification() == 1) monominoLast |= 1 << i;
+		}
+		return new GameState(size, numPlayers, turn, passed, monominoLast, remaining, occupied);
+	}
+	
+	/**
+	 * Puts this board into the position of a snapshot.  Moves made with makeMove before
+	 * can no longer be unmade, and listeners are told of every space that changes
+	 * 
+	 * @param state a snapshot of a game with the same size of board and number of players
+	 * @throws IllegalArgumentException if the snapshot is of a different size of game
+	 */
+	public void restoreState(GameState state) throws IllegalArgumentException {
+		if(state.getSize() != size || state.getNumPlayers() != numPlayers) {
+			throw new IllegalArgumentException("The state is of a game of a different size");
+		}
+		
+		// Change only the spaces whose occupant is different
+		for(int row = 0; row < size; row++) {
+			for(int col = 0; col < size; col++) {
+				int before = bits.occupyingPlayer(col, row);
+				int after = state.occupyingPlayer(col, row);
+				if(before == after) continue;
+				
+				if(before != 0) {
+					bits.unoccupy(col, row);
+					players[before-1].unoccupy();
+				}
+				if(after != 0) {
+					bits.occupy(col, row, after);
+					players[after-1].occupy();
+				}
+				fireSpaceChanged(spaces[size*row + col]);
+			}
+		}
+		
+		// The pieces and passes are hashed over again from scratch
+		Zobrist zobrist = bits.getZobrist();
+		hash = 0L;
+		for(Player p : players) {
+			int pNum = p.getPlayerNum();
+			int remaining = state.getRemaining(pNum);
+			
+			// Only whether the monomino went last matters of the order the pieces went in
+			p.clearPlaced();
+			for(int i = 1; i <= PieceCatalog.NUM_PIECES; i++) {
+				int piece = state.isMonominoLast(pNum) ? i % PieceCatalog.NUM_PIECES : i - 1;
+				Nomino n = p.getPieceById(piece);
+				boolean placed = (remaining & (1 << piece)) == 0;
+				if(placed && ! n.isPlaced()) n.place();
+				if(! placed && n.isPlaced()) n.deplace();
+				if(placed) {
+					p.piecePlaced(n);
+					hash ^= zobrist.piece(pNum, piece);
+				}
+			}
+			p.setHasPassed(state.hasPassed(pNum));
+			if(state.hasPassed(pNum)) hash ^= zobrist.passed(pNum);
+		}
+		
+		turn = state.getTurn();
+		historySize = 0;
+		forgetProofs(-1);
 	}
 	
 	/**
@@ -566,13 +982,14 @@ public class Board {
 		// Set the coordinates of n (and all attached nominos)
 		n.setCoords(col, row);
 		
-		// Every nomino (including n) that is attached to n
-		Nomino[] attached = n.searchAllUnique(n.walk());
+		// The offsets of every nomino (including n) that is attached to n
+		int[] offsets = n.getOffsets();
 		
 		// For each attached nomino, we hover over the space on the board with the same coordinates
-		for(Nomino att : attached) {
-			int[] coords = att.getCoords();
-			spaces[size*coords[1] + coords[0]].hover(ownerNum);
+		for(int k = 0; k < offsets.length; k += 2) {
+			Space s = spaces[size*(row + offsets[k+1]) + col + offsets[k]];
+			s.hover(ownerNum);
+			fireSpaceChanged(s);
 		}
 	}
 	
@@ -585,23 +1002,58 @@ public class Board {
 	 * @param row the row of the Space over which n is currently hovering
 	 */
 	public void dehoverPiece(Nomino n, int col, int row) {
-		// Make a copy of n
-		Nomino ncopy = n.copy();
-		
-		// Set the copy's coordinates to (col, row)
-		ncopy.setCoords(col, row);
-		
-		// Every nomino (including ncopy) that is attached to ncopy
-		Nomino[] attached = ncopy.searchAllUnique(ncopy.walk());
+		// The offsets of every nomino (including n) that is attached to n, which give
+		// the spaces n covered at (col, row) without having to move n back there
+		int[] offsets = n.getOffsets();
 		
 		// For each attached nomino, we dehover over the space on the board with 
 		// the same coordinates
-		for(Nomino att : attached) {
-			int[] coords = att.getCoords();
-			spaces[size*coords[1] + coords[0]].dehover();
+		for(int k = 0; k < offsets.length; k += 2) {
+			Space s = spaces[size*(row + offsets[k+1]) + col + offsets[k]];
+			s.dehover();
+			fireSpaceChanged(s);
 		}
 	}
 	
+	/**
+	 * Adds a listener to be told about every change to the spaces of this board made
+	 * through placePiece, deplacePiece, hoverPiece and dehoverPiece, and about every
+	 * illegal move submitted to the game loop.  Moves made with makeMove are not
+	 * reported, as they are only meant to be looked ahead at
+	 * 
+	 * @param l the listener to add
+	 */
+	public void addBoardListener(BoardListener l) {
+		listeners.add(l);
+	}
+	
+	/**
+	 * Stops a listener from being told about changes to this board
+	 * 
+	 * @param l the listener to remove
+	 */
+	public void removeBoardListener(BoardListener l) {
+		listeners.remove(l);
+	}
+	
+	/**
+	 * Tells every listener that a space on this board has changed
+	 * 
+	 * @param s the space that changed
+	 */
+	private void fireSpaceChanged(Space s) {
+		for(BoardListener l : listeners) l.spaceChanged(s);
+	}
+	
+	/**
+	 * Tells every listener that an illegal move was submitted for the turn in play
+	 * 
+	 * @param move the packed move that was ignored
+	 */
+	private void fireMoveRejected(int move) {
+		for(BoardListener l : listeners) l.moveRejected(move);
+	}
+	
 	/**
 	 * Getter for the spaces array
 	 * 
@@ -611,6 +1063,15 @@ public class Board {
 		return spaces;
 	}
 	
+	/**
+	 * Getter for the bitboard holding the occupancy of every space on the board
+	 * 
+	 * @return the board's bitboard
+	 */
+	public BitBoard getBitBoard() {
+		return bits;
+	}
+	
 	/**
 	 * Gets the space at the specified coordinates
 	 * 
@@ -698,50 +1159,301 @@ public class Board {
 	 * @return a HashSet of all spaces that player p might be able to legally place a piece
 	 */
 	public Set<Space> findPossibleMoveSpaces(Player p) {
-		// All spaces currently occupied by player p
-		Set<Space> occupiedByP = new HashSet<Space>();
-		for(Space s : spaces) {
-			if(s.isOccupied() && s.occupyingPlayer() == p.getPlayerNum())
-				occupiedByP.add(s);
-		}
-		
-		// Next we iterate thorugh each space occupied by p and create another set, this one
-		// containing all of the unoccupied spaces sitting diagonal to a space occupied by p
-		Set<Space> unoccupiedDiagSpaces = new HashSet<Space>();
-		for(Space s : occupiedByP) {
-			// Check the space northwest of s
-			Space diag = find(s, Direction.TOP, Direction.LEFT);
-			if(diag != null && diag.isOccupied() == false) unoccupiedDiagSpaces.add(diag);
-			
-			// Check the space northeast of s
-			diag = find(s, Direction.TOP, Direction.RIGHT);
-			if(diag != null && diag.isOccupied() == false) unoccupiedDiagSpaces.add(diag);
+		// The number of player p
+		int pNum = p.getPlayerNum();
+		
+		Set<Space> possibleMoveSpaces = new HashSet<Space>();
+		
+		// Until p has a piece on the board its anchors are the corners of the board
+		// rather than spaces diagonal to its own
+		if(bits.countOwned(pNum) == 0) return possibleMoveSpaces;
+		
+		// The bitboard keeps p's anchors up to date as pieces are placed and removed,
+		// so there is no need to search the board for them
+		for(int i = 0; i < bits.getNumAnchors(pNum); i++) {
+			int b = bits.getAnchor(pNum, i);
+			possibleMoveSpaces.add(getSpace(bits.colOf(b), bits.rowOf(b)));
+		}
+		
+		return possibleMoveSpaces;
+	}
+	
+	/**
+	 * Generates every legal move available to the given player, as packed moves (see Move).
+	 * Each distinct placement of each piece the player has not yet placed appears exactly
+	 * once.  The moves are built from the player's anchors and the PieceCatalog, so no
+	 * Nomino is moved, rotated or reflected while generating them
+	 * 
+	 * @param p any of the players in the current game
+	 * @return a list of every legal move for player p, which is empty if p must pass
+	 */
+	public MoveList generateMoves(Player p) {
+		MoveList moves = new MoveList();
+		generateMoves(p, moves);
+		return moves;
+	}
+	
+	/**
+	 * Generates every legal move available to the given player into an existing list,
+	 * which is cleared first, so that a caller generating moves over and over (such as
+	 * a search) can reuse one list instead of allocating a new one each time
+	 * 
+	 * @param p     any of the players in the current game
+	 * @param moves the list to fill with every legal move for player p
+	 */
+	public void generateMoves(Player p, MoveList moves) {
+		moves.clear();
+		
+		// The number of player p
+		int pNum = p.getPlayerNum();
+		
+		// The pieces p has not yet placed, less those hasLegalMove has proven cannot be
+		// placed, one bit per piece id
+		int remaining = p.getRemainingMask() & ~unplaceable[pNum-1];
+		if(remaining == 0) return;
+		
+		// Only placements covering one of p's anchors can be legal, which on p's first
+		// move are the free corners of the board
+		for(int i = 0; i < bits.getNumAnchors(pNum); i++) {
+			int b = bits.getAnchor(pNum, i);
+			generateFromAnchor(pNum, remaining, bits.colOf(b), bits.rowOf(b), moves);
+		}
+	}
+	
+	/**
+	 * Checks whether the given player has any legal move at all.  This stops at the first
+	 * legal placement it finds, trying the smallest pieces first as they fit the most
+	 * places, so it is much cheaper than generating every move.  A piece is not tried on
+	 * an anchor whose region, the spaces the player could cover connected to the anchor,
+	 * is too small to hold it, and a piece found not to fit anywhere is remembered, so
+	 * that it is not tried again until a move is unmade or the player places a piece
+	 * 
+	 * @param p any of the players in the current game
+	 * @return true if p can place a piece, false if p can only pass
+	 */
+	public boolean hasLegalMove(Player p) {
+		// The number of player p
+		int pNum = p.getPlayerNum();
+		
+		// The size of the largest region of p's anchors, or -1 until it is needed
+		int largest = -1;
+		
+		// The pieces left to try, taken lowest id first
+		int left = p.getRemainingMask() & ~unplaceable[pNum-1];
+		
+		int numAnchors = bits.getNumAnchors(pNum);
+		for(; left != 0; left &= left - 1) {
+			int piece = Integer.numberOfTrailingZeros(left);
 			
-			// Check the space southwest of s
-			diag = find(s, Direction.BOTTOM, Direction.LEFT);
-			if(diag != null && diag.isOccupied() == false) unoccupiedDiagSpaces.add(diag);
+			// A monomino fits on any anchor, bigger pieces need room around it
+			int classification = PieceCatalog.getClassification(piece);
+			if(classification > 1 && largest < 0) largest = measureRegions(pNum);
 			
-			// Check the space southeast of s
-			diag = find(s, Direction.BOTTOM, Direction.RIGHT);
-			if(diag != null && diag.isOccupied() == false) unoccupiedDiagSpaces.add(diag);
+			if(classification <= largest || classification == 1) {
+				for(int i = 0; i < numAnchors; i++) {
+					if(classification > 1 && anchorRegions[i] < classification) continue;
+					
+					int b = bits.getAnchor(pNum, i);
+					if(fitsOnAnchor(pNum, piece, bits.colOf(b), bits.rowOf(b))) return true;
+				}
+			}
+			prove(pNum, piece);
+		}
+		return false;
+	}
+	
+	/**
+	 * Measures the region of each of a player's anchors into anchorRegions
+	 * 
+	 * @param pNum the number of a player
+	 * @return the size of the largest region
+	 */
+	private int measureRegions(int pNum) {
+		int numAnchors = bits.getNumAnchors(pNum);
+		if(anchorRegions.length < numAnchors) anchorRegions = new int[2*numAnchors];
+		
+		int largest = 0;
+		for(int i = 0; i < numAnchors; i++) {
+			anchorRegions[i] = measureRegion(pNum, bits.getAnchor(pNum, i));
+			largest = Math.max(largest, anchorRegions[i]);
+		}
+		return largest;
+	}
+	
+	/**
+	 * Measures the region of an anchor: the spaces a player could cover which are
+	 * connected to the anchor through each other's sides.  No piece covering the anchor
+	 * can be bigger than its region.  Only as much of the region is counted as the
+	 * largest piece could cover
+	 * 
+	 * @param pNum   the number of a player
+	 * @param anchor the bit index of one of the player's anchors
+	 * @return the size of the region, up to PieceCatalog.MAX_CLASSIFICATION
+	 */
+	private int measureRegion(int pNum, int anchor) {
+		region[0] = anchor;
+		int count = 1;
+		for(int i = 0; i < count && count < region.length; i++) {
+			int col = bits.colOf(region[i]);
+			int row = bits.rowOf(region[i]);
+			count = growRegion(pNum, col + 1, row, count);
+			count = growRegion(pNum, col - 1, row, count);
+			count = growRegion(pNum, col, row + 1, count);
+			count = growRegion(pNum, col, row - 1, count);
 		}
+		return count;
+	}
+	
+	/**
+	 * Adds a space to the region being measured, if the player could cover it and it is
+	 * not already in the region
+	 * 
+	 * @param pNum  the number of a player
+	 * @param col   the column of the space
+	 * @param row   the row of the space
+	 * @param count the number of spaces in the region
+	 * @return the number of spaces in the region afterwards
+	 */
+	private int growRegion(int pNum, int col, int row, int count) {
+		if(count == region.length || ! bits.contains(col, row) || bits.isBlocked(col, row, pNum)) return count;
 		
-		// Lastly, we want to go through this rough set of possible move spaces and
-		// eliminate those which directly touch a space already occupied by player p
-		Set<Space> possibleMoveSpaces = new HashSet<Space>();
-		for(Space s : unoccupiedDiagSpaces) {
-			boolean isPossibleMoveSpace = true;
-			for(Direction dir : Direction.values()) {
-				Space adj = find(s, dir);
-				if(adj != null && adj.occupyingPlayer() == p.getPlayerNum()) {
-					isPossibleMoveSpace = false;
-					break;
+		int b = bits.bit(col, row);
+		for(int i = 0; i < count; i++) {
+			if(region[i] == b) return count;
+		}
+		region[count] = b;
+		return count + 1;
+	}
+	
+	/**
+	 * Remembers that a player cannot place a piece in the current position, nor in any
+	 * position reached from it by other players' moves
+	 * 
+	 * @param pNum  the number of a player
+	 * @param piece the id of the piece
+	 */
+	private void prove(int pNum, int piece) {
+		if(numProofs == proofs.length) proofs = Arrays.copyOf(proofs, 2*numProofs);
+		proofs[numProofs++] = historySize << 16 | pNum << 8 | piece;
+		unplaceable[pNum-1] |= 1 << piece;
+	}
+	
+	/**
+	 * Forgets the proofs made after more than the given number of moves had been made
+	 * 
+	 * @param movesMade the number of moves made, or -1 to forget every proof
+	 */
+	private void forgetProofs(int movesMade) {
+		while(numProofs > 0 && (proofs[numProofs-1] >>> 16) > movesMade) {
+			numProofs--;
+			int pNum = (proofs[numProofs] >> 8) & 0xff;
+			unplaceable[pNum-1] &= ~(1 << (proofs[numProofs] & 0xff));
+		}
+	}
+	
+	/**
+	 * Forgets every proof about a player, whose new piece may have given it anchors
+	 * that its unplaceable pieces fit on
+	 * 
+	 * @param pNum the number of the player who has placed a piece
+	 */
+	private void forgetProofsOf(int pNum) {
+		if(unplaceable[pNum-1] == 0) return;
+		
+		// Keep the other players' proofs, in the order they were made
+		int kept = 0;
+		for(int i = 0; i < numProofs; i++) {
+			if(((proofs[i] >> 8) & 0xff) != pNum) proofs[kept++] = proofs[i];
+		}
+		numProofs = kept;
+		unplaceable[pNum-1] = 0;
+	}
+	
+	/**
+	 * Checks whether a piece can be legally placed covering an anchor, in any orientation
+	 * and with any of its nominos on the anchor
+	 * 
+	 * @param pNum  the number of the player placing the piece
+	 * @param piece the id of the piece
+	 * @param col   the column of the anchor
+	 * @param row   the row of the anchor
+	 * @return true if the piece has a legal placement covering the anchor
+	 */
+	private boolean fitsOnAnchor(int pNum, int piece, int col, int row) {
+		for(int i = 0; i < PieceCatalog.getNumOrientations(piece); i++) {
+			int orientation = PieceCatalog.getOrientation(piece, i);
+			int[] offsets = PieceCatalog.getOffsets(piece, orientation);
+			int[] bounds = PieceCatalog.getBounds(piece, orientation);
+			
+			for(int k = 0; k < offsets.length; k += 2) {
+				int headCol = col - offsets[k];
+				int headRow = row - offsets[k+1];
+				if(headCol + bounds[0] < 0 || headRow + bounds[1] < 0 ||
+						size <= headCol + bounds[2] || size <= headRow + bounds[3]) continue;
+				
+				// Every placement found from an anchor is legal, unless one of its spaces is blocked
+				if(fits(pNum, offsets, 0, headCol, headRow)) return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Adds every legal move covering one anchor to a list, by trying each nomino of each
+	 * unique orientation of each remaining piece on the anchor
+	 * 
+	 * @param pNum      the number of the player to generate moves for
+	 * @param remaining the pieces the player has not yet placed, one bit per piece id
+	 * @param col       the column of the anchor
+	 * @param row       the row of the anchor
+	 * @param moves     the list to add the moves to
+	 */
+	private void generateFromAnchor(int pNum, int remaining, int col, int row, MoveList moves) {
+		for(int left = remaining; left != 0; left &= left - 1) {
+			int piece = Integer.numberOfTrailingZeros(left);
+			
+			for(int i = 0; i < PieceCatalog.getNumOrientations(piece); i++) {
+				int orientation = PieceCatalog.getOrientation(piece, i);
+				int[] offsets = PieceCatalog.getOffsets(piece, orientation);
+				int[] bounds = PieceCatalog.getBounds(piece, orientation);
+				
+				// Put the k-th nomino of the piece on the anchor, which fixes where its head goes
+				for(int k = 0; k < offsets.length; k += 2) {
+					int headCol = col - offsets[k];
+					int headRow = row - offsets[k+1];
+					
+					// Skip placements hanging off the board without looking at any space
+					if(headCol + bounds[0] < 0 || headRow + bounds[1] < 0 ||
+							size <= headCol + bounds[2] || size <= headRow + bounds[3]) continue;
+					
+					if(fits(pNum, offsets, k, headCol, headRow))
+						moves.add(Move.encode(piece, orientation, headCol, headRow));
 				}
 			}
-			if(isPossibleMoveSpace) possibleMoveSpaces.add(s);
 		}
-		
-		return possibleMoveSpaces;
+	}
+	
+	/**
+	 * Checks whether an oriented piece, already known to lie on the board, can be placed
+	 * with its head at the given coordinates, having been found from the anchor under its
+	 * k-th nomino.  A placement covering several anchors is found once from each of them,
+	 * so it is only accepted from the first anchor it covers
+	 * 
+	 * @param pNum    the number of the player placing the piece
+	 * @param offsets the packed offsets of the piece's nominos from its head
+	 * @param k       the position in offsets of the nomino covering the anchor
+	 * @param headCol the column of the piece's head
+	 * @param headRow the row of the piece's head
+	 * @return true if the placement is legal and has not been found from an earlier anchor
+	 */
+	private boolean fits(int pNum, int[] offsets, int k, int headCol, int headRow) {
+		for(int j = 0; j < offsets.length; j += 2) {
+			int col = headCol + offsets[j];
+			int row = headRow + offsets[j+1];
+			if(bits.isBlocked(col, row, pNum)) return false;
+			if(j < k && bits.isAnchor(col, row, pNum)) return false;
+		}
+		return true;
 	}
 	
 	/**
@@ -762,6 +1474,21 @@ public class Board {
 		return players;
 	}
 	
+	/**
+	 * Seats a player on this board in place of the player with the same number, for
+	 * instance to have a computer player take a seat.  This must be done before the
+	 * game starts
+	 * 
+	 * @param p a player whose board is this one
+	 * @throws IllegalArgumentException if p's number is not a seat on this board
+	 */
+	public void setPlayer(Player p) throws IllegalArgumentException {
+		if(p.getPlayerNum() < 1 || numPlayers < p.getPlayerNum()) {
+			throw new IllegalArgumentException("There is no seat for player " + p.getPlayerNum());
+		}
+		players[p.getPlayerNum()-1] = p;
+	}
+	
 	/**
 	 * Gets the player on the board with the designated player number
 	 * 
@@ -0,0 +1,26 @@
+package santanjm.blokus;
+
+import santanjm.blokus.*;
+
+/**
+ * Interface for anything, such as the view of the game, that needs to hear about
+ * changes to a board.  A board does not know how it is displayed, if it is displayed
+ * at all, it only tells its listeners which of its spaces have changed
+ */
+public interface BoardListener {
+	/**
+	 * Called whenever a space on the board is occupied, unoccupied, hovered over or
+	 * no longer hovered over
+	 * 
+	 * @param s the space that changed
+	 */
+	public void spaceChanged(Space s);
+	
+	/**
+	 * Called whenever a move submitted for the turn in play is not legal for the active
+	 * player, and so is ignored while the game waits for another
+	 * 
+	 * @param move the packed move (see Move) that was ignored
+	 */
+	public void moveRejected(int move);
+}
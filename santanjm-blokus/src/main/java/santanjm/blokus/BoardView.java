@@ -0,0 +1,180 @@
+package santanjm.blokus;
+
+import java.awt.*;
+import java.awt.event.*;
+import javax.swing.*;
+
+import santanjm.blokus.*;
+
+/**
+ * The Swing view of a board: a Grid Panel holding a Space Panel for every space,
+ * which is kept up to date by listening to the board for changes.  The board may be
+ * changed from any thread, so a change only records the space's new state and marks
+ * it dirty; once a frame the dirty spaces are shown on the Event Dispatch Thread and
+ * repainted together
+ */
+public class BoardView implements BoardListener {
+	// The time between repaints of the spaces that have changed, about 60 frames a second
+	public static final int FRAME_MILLIS = 16;
+	
+	// The board being displayed
+	private Board board;
+	
+	// The Grid Panel in which the board is displayed
+	private GridPanel gridpanel;
+	
+	// The panel displaying each space, indexed the same way as the board's spaces
+	private SpacePanel[] panels;
+	
+	// The state of each space to show at the next frame, packed as the occupying player
+	// shifted left 8 bits or'd with the hovering player, indexed like panels
+	private int[] pending;
+	
+	// The indices of the spaces that have changed since the last frame
+	private int[] dirty;
+	
+	// The number of indices in dirty
+	private int numDirty = 0;
+	
+	// Whether each space is already in dirty, indexed like panels
+	private boolean[] isDirty;
+	
+	// Fires once on the Event Dispatch Thread a frame after a space first changes
+	private javax.swing.Timer frameTimer;
+	
+	/**
+	 * Constructs a view of the given board and starts listening to it for changes
+	 * 
+	 * @param board the board to display
+	 */
+	public BoardView(Board board) {
+		this.board = board;
+		gridpanel = new GridPanel();
+		
+		// Create a panel for every space, showing whatever is on the board already
+		Space[] spaces = board.getSpaces();
+		panels = new SpacePanel[spaces.length];
+		pending = new int[spaces.length];
+		dirty = new int[spaces.length];
+		isDirty = new boolean[spaces.length];
+		for(int i = 0; i < spaces.length; i++) {
+			int[] coords = spaces[i].getCoords();
+			panels[i] = new SpacePanel(coords[0], coords[1]);
+			gridpanel.addSpace(panels[i]);
+			show(panels[i], pack(spaces[i]));
+		}
+		
+		frameTimer = new javax.swing.Timer(FRAME_MILLIS, new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				flush();
+			}
+		});
+		frameTimer.setRepeats(false);
+		
+		board.addBoardListener(this);
+	}
+	
+	/**
+	 * Getter for the Grid Panel in which the board is displayed
+	 * 
+	 * @return the grid panel
+	 */
+	public GridPanel getGridPanel() {
+		return gridpanel;
+	}
+	
+	/**
+	 * Displays the board in a new window
+	 */
+	public void display() {
+		// The Frame in which the game will be displayed
+		JFrame gameframe = new JFrame("Blokus");
+		gameframe.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		gameframe.setResizable(false);
+		gameframe.add(gridpanel);
+		gameframe.pack();
+		gameframe.setSize(gameframe.getPreferredSize());
+		gameframe.setVisible(true);
+	}
+	
+	/**
+	 * Records the new state of a space that has changed on the board, to be shown at
+	 * the next frame.  This may be called from any thread, and does no painting itself
+	 * 
+	 * @param s the space that changed
+	 */
+	public void spaceChanged(Space s) {
+		int i = board.getSize()*s.getRow() + s.getCol();
+		
+		synchronized(this) {
+			pending[i] = pack(s);
+			if(isDirty[i]) return;
+			
+			isDirty[i] = true;
+			dirty[numDirty++] = i;
+			
+			// The first change since the last frame starts the wait for the next one
+			if(numDirty == 1) frameTimer.start();
+		}
+	}
+	
+	/**
+	 * Does nothing when a submitted move is rejected, as the board looks the same and
+	 * the keyboard already says why a human player's placement is illegal
+	 * 
+	 * @param move the packed move that was ignored
+	 */
+	public void moveRejected(int move) {
+	}
+	
+	/**
+	 * Shows every space that has changed since the last frame and repaints the part of
+	 * the Grid Panel covering them all at once.  Called on the Event Dispatch Thread
+	 */
+	void flush() {
+		// The area of the Grid Panel covered by the changed spaces
+		Rectangle area = null;
+		
+		synchronized(this) {
+			for(int k = 0; k < numDirty; k++) {
+				int i = dirty[k];
+				isDirty[i] = false;
+				show(panels[i], pending[i]);
+				
+				if(area == null) area = panels[i].getBounds();
+				else area.add(panels[i].getBounds());
+			}
+			numDirty = 0;
+		}
+		
+		if(area != null) gridpanel.repaint(area);
+	}
+	
+	/**
+	 * Packs the state of a space to be shown into an int
+	 * 
+	 * @param s a space
+	 * @return the occupying player shifted left 8 bits or'd with the hovering player
+	 */
+	private static int pack(Space s) {
+		int occupier = s.isOccupied() ? s.occupyingPlayer() : 0;
+		return occupier << 8 | s.getHoveringPlayer();
+	}
+	
+	/**
+	 * Sets a space's panel to show a packed state, without repainting it
+	 * 
+	 * @param panel the panel of the space
+	 * @param state the occupying player shifted left 8 bits or'd with the hovering player
+	 */
+	private static void show(SpacePanel panel, int state) {
+		int occupier = state >>> 8;
+		int hovering = state & 0xFF;
+		
+		if(occupier != 0) panel.occupy(occupier);
+		else panel.unoccupy();
+		
+		if(hovering != 0) panel.hover(hovering);
+		else panel.dehover();
+	}
+}
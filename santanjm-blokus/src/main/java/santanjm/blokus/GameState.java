@@ -0,0 +1,217 @@
+package santanjm.blokus;
+
+import java.util.*;
+
+import santanjm.blokus.*;
+
+/**
+ * An unchanging snapshot of everything about a game that matters to its rules: which
+ * spaces each player occupies, which pieces each player has left, who has passed, who
+ * placed the monomino last and whose turn it is.  It is kept in a handful of primitive
+ * words, one bit per space and per piece, so it is cheap to make, compare and hash, and
+ * since it never changes it can be handed to other threads without copying.  A Board
+ * exports its position with getState and goes back to one with restoreState
+ */
+public final class GameState {
+	// The size of the board, e.g. 20 in a 20x20 board
+	private final int size;
+	
+	// The number of players in the game
+	private final int numPlayers;
+	
+	// The turn number
+	private final int turn;
+	
+	// The players who have passed, bit pNum - 1 for player pNum
+	private final int passed;
+	
+	// The players whose last piece placed was the monomino, bit pNum - 1 for player pNum
+	private final int monominoLast;
+	
+	// The pieces each player has left, one bit per piece id, by number - 1
+	private final int[] remaining;
+	
+	// The spaces each player occupies, one bit for the space at (col, row) at bit
+	// size*row + col of the player's words, player pNum's words coming (pNum - 1)th
+	private final long[] occupied;
+	
+	// The number of words of occupied for each player
+	private final int words;
+	
+	// The hash code, worked out once
+	private final int hash;
+	
+	/**
+	 * Constructs a snapshot from arrays made for it, which are not copied and must not be
+	 * changed afterwards
+	 * 
+	 * @param size         the size of the board
+	 * @param numPlayers   the number of players in the game
+	 * @param turn         the turn number
+	 * @param passed       the players who have passed, bit pNum - 1 for player pNum
+	 * @param monominoLast the players whose last piece placed was the monomino, bit
+	 *                     pNum - 1 for player pNum
+	 * @param remaining    the pieces each player has left, one bit per piece id
+	 * @param occupied     the spaces each player occupies, wordsFor(size) words each
+	 */
+	GameState(int size, int numPlayers, int turn, int passed, int monominoLast, int[] remaining,
+			long[] occupied) {
+		this.size = size;
+		this.numPlayers = numPlayers;
+		this.turn = turn;
+		this.passed = passed;
+		this.monominoLast = monominoLast;
+		this.remaining = remaining;
+		this.occupied = occupied;
+		words = wordsFor(size);
+		
+		int h = 31*size + numPlayers;
+		h = 31*h + turn;
+		h = 31*h + passed;
+		h = 31*h + monominoLast;
+		h = 31*h + Arrays.hashCode(remaining);
+		hash = 31*h + Arrays.hashCode(occupied);
+	}
+	
+	/**
+	 * Gets the number of words each player's spaces take up on a board of a given size
+	 * 
+	 * @param size the size of a board
+	 * @return the number of longs needed for one bit per space
+	 */
+	static int wordsFor(int size) {
+		return (size*size + 63) / 64;
+	}
+	
+	/**
+	 * Gets the size of the board
+	 * 
+	 * @return the size of the board, e.g. 20 in a 20x20 board
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Gets the number of players in the game
+	 * 
+	 * @return the number of players
+	 */
+	public int getNumPlayers() {
+		return numPlayers;
+	}
+	
+	/**
+	 * Gets the turn number
+	 * 
+	 * @return the number of turns played, passes included
+	 */
+	public int getTurn() {
+		return turn;
+	}
+	
+	/**
+	 * Gets the number of the player whose turn it is
+	 * 
+	 * @return the number of the player to move
+	 */
+	public int getPlayerToMove() {
+		return turn % numPlayers + 1;
+	}
+	
+	/**
+	 * Gets whether a player has passed
+	 * 
+	 * @param pNum the number of a player
+	 * @return true if the player passes on every turn from now on
+	 */
+	public boolean hasPassed(int pNum) {
+		return (passed & (1 << (pNum-1))) != 0;
+	}
+	
+	/**
+	 * Gets whether the last piece a player placed was the monomino, which is worth a
+	 * bonus if it was the player's last piece of all
+	 * 
+	 * @param pNum the number of a player
+	 * @return true if the player's most recent piece was the monomino
+	 */
+	public boolean isMonominoLast(int pNum) {
+		return (monominoLast & (1 << (pNum-1))) != 0;
+	}
+	
+	/**
+	 * Gets the pieces a player has left
+	 * 
+	 * @param pNum the number of a player
+	 * @return the pieces not yet placed, one bit per piece id
+	 */
+	public int getRemaining(int pNum) {
+		return remaining[pNum-1];
+	}
+	
+	/**
+	 * Gets whether a player occupies a space
+	 * 
+	 * @param pNum the number of a player
+	 * @param col  the column of the space
+	 * @param row  the row of the space
+	 * @return true if the player occupies the space
+	 */
+	public boolean isOccupiedBy(int pNum, int col, int row) {
+		int b = size*row + col;
+		return (occupied[(pNum-1)*words + (b >>> 6)] & (1L << b)) != 0;
+	}
+	
+	/**
+	 * Gets the player occupying a space
+	 * 
+	 * @param col the column of the space
+	 * @param row the row of the space
+	 * @return the number of the player occupying the space, or 0 if it is free
+	 */
+	public int occupyingPlayer(int col, int row) {
+		for(int pNum = 1; pNum <= numPlayers; pNum++) {
+			if(isOccupiedBy(pNum, col, row)) return pNum;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Counts the spaces a player occupies
+	 * 
+	 * @param pNum the number of a player
+	 * @return the number of spaces occupied
+	 */
+	public int countOwned(int pNum) {
+		int count = 0;
+		for(int i = 0; i < words; i++) count += Long.bitCount(occupied[(pNum-1)*words + i]);
+		return count;
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) return true;
+		if(! (o instanceof GameState)) return false;
+		
+		GameState other = (GameState) o;
+		return hash == other.hash && size == other.size && numPlayers == other.numPlayers
+				&& turn == other.turn && passed == other.passed && monominoLast == other.monominoLast
+				&& Arrays.equals(remaining, other.remaining) && Arrays.equals(occupied, other.occupied);
+	}
+	
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder state = new StringBuilder("turn " + turn + "\n");
+		for(int row = 0; row < size; row++) {
+			for(int col = 0; col < size; col++) state.append(occupyingPlayer(col, row));
+			state.append("\n");
+		}
+		return state.toString();
+	}
+}
@@ -38,19 +38,19 @@ public class GridPanel extends JPanel {
 	}
 	
 	/**
-	 * Adds a space to the Grid Panel at its proper coordinates
+	 * Adds the panel of a space to the Grid Panel at its proper coordinates
 	 * 
-	 * @param s a space
+	 * @param panel the panel displaying a space
 	 */
-	public void addSpace(Space s) {
-		int[] coords = s.getCoords();
+	public void addSpace(SpacePanel panel) {
+		int[] coords = panel.getCoords();
 		int gridCol = coords[0]*2;
 		int gridRow = coords[1]*2;
 		
 		c.gridx = gridCol;
 		c.gridy = gridRow;
-		gridbag.setConstraints(s.panel, c);
-		add(s.panel);
+		gridbag.setConstraints(panel, c);
+		add(panel);
 		
 		c.weightx = 0.0;
 	}
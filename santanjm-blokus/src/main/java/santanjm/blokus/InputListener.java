@@ -10,7 +10,8 @@ public class InputListener implements KeyListener {
 	// The Board in which the game is being played
 	private Board board;
 	
-	boolean turnOver;
+	// The last turn a move was submitted for from the keyboard, or -1
+	private int submittedTurn = -1;
 	
 	/**
 	 * Constructs a new InputListener with a given Board instance
@@ -26,9 +27,21 @@ public class InputListener implements KeyListener {
 	}
 	
 	public void keyPressed(KeyEvent e) {
+		// The turn the game is waiting on a move for, read before the player and piece so
+		// that they belong to it.  Keys pressed between turns are dropped
+		int turn = board.getTurnInPlay();
+		if(turn < 0) return;
+		
+		// Once a move has been submitted the piece on screen must stay as it was sent, so
+		// the rest of the turn's keys are dropped too
+		if(turn == submittedTurn) return;
+		
 		// The player whose turn it currently is
 		Player active = board.getActivePlayer();
 		
+		// Only a human player's turn is played from the keyboard
+		if(active == null || active.isHuman() == false) return;
+		
 		// The currently selected piece
 		Nomino selected = board.getSelectedPiece();
 		
@@ -38,14 +51,16 @@ public class InputListener implements KeyListener {
 		// The keycode of the typed key
 		int key = e.getKeyCode();
 		
+		// The turn ended while the player and piece were being read
+		if(board.getTurnInPlay() != turn) return;
+		
 		// Attempt to place the currently selected piece at its current position
 		if(key == KeyEvent.VK_ENTER) {
 			// If the active player has not placed any pieces yet (they have 21 remaining)
 			// check the selected piece's placement against the first turn rules
 			if(active.remainingPieces == 21) {
 				if(board.isLegalFirstTurn(selected, oldCoords[0], oldCoords[1])) {
-					board.placePiece(selected, oldCoords[0], oldCoords[1]);
-					turnOver = true;
+					submitSelected(turn, oldCoords);
 					return;
 				} else {
 					System.out.println("Illegal first placement, place any piece in a corner");
@@ -55,8 +70,7 @@ public class InputListener implements KeyListener {
 			// If the active player has placed at least one piece, then regular rules apply
 			else {
 				if(board.isLegal(selected, oldCoords[0], oldCoords[1])) {
-					board.placePiece(selected, oldCoords[0], oldCoords[1]);
-					turnOver = true;
+					submitSelected(turn, oldCoords);
 					return;
 				} else {
 					System.out.println("Illegal move");
@@ -135,13 +149,26 @@ public class InputListener implements KeyListener {
 		// If the player hits the 'P' key, pass thier turn and mark them as passaple for
 		// the remainder of the game
 		if(key == KeyEvent.VK_P) {
-			board.dehoverPiece(selected, oldCoords[0], oldCoords[1]);
-			active.setHasPassed();
-			turnOver = true;
+			submittedTurn = turn;
+			board.submitMove(turn, Move.PASS);
 			return;
 		}
 	}
 	
+	/**
+	 * Hands the game loop the move of placing the selected piece as it is now.  No more
+	 * keys are taken for the turn afterwards
+	 * 
+	 * @param turn   the turn the move is for
+	 * @param coords the coordinates of the selected piece: [col, row]
+	 */
+	private void submitSelected(int turn, int[] coords) {
+		Nomino selected = board.getSelectedPiece();
+		submittedTurn = turn;
+		board.submitMove(turn, Move.encode(selected.getPieceId(), selected.getOrientation(), coords[0], 
+				coords[1]));
+	}
+	
 	public void keyReleased(KeyEvent e) {
 		
 	}
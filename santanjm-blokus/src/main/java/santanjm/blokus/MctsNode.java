@@ -0,0 +1,164 @@
+package santanjm.blokus;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import santanjm.blokus.*;
+
+/**
+ * A position in a Monte Carlo search tree, reached from its parent by one move.  A node
+ * keeps how many playouts have passed through it and the total reward they gave the
+ * player who made its move.  Nodes may be shared by several searching threads, which
+ * update them without locking: the counts are primitive fields changed with atomic
+ * instructions, and the one thread which gets to expand a node claims it first
+ */
+class MctsNode {
+	// A reward of 1, as it is added to the value of a node
+	static final long REWARD_SCALE = 1L << 20;
+	
+	// The states a node goes through on its way to having children
+	private static final int UNEXPANDED = 0;
+	private static final int EXPANDING = 1;
+	private static final int EXPANDED = 2;
+	
+	// Atomic access to the fields of every node
+	private static final AtomicIntegerFieldUpdater<MctsNode> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(MctsNode.class, "state");
+	private static final AtomicIntegerFieldUpdater<MctsNode> VISITS =
+			AtomicIntegerFieldUpdater.newUpdater(MctsNode.class, "visits");
+	private static final AtomicLongFieldUpdater<MctsNode> VALUE =
+			AtomicLongFieldUpdater.newUpdater(MctsNode.class, "value");
+	
+	// The move which leads to this node from its parent
+	final int move;
+	
+	// The number of the player who made the move
+	final int mover;
+	
+	// Whether this node is UNEXPANDED, EXPANDING or EXPANDED
+	private volatile int state = UNEXPANDED;
+	
+	// The positions reached by each move from this one, or null until it is expanded
+	private volatile MctsNode[] children;
+	
+	// The number of playouts through this node, counting those still being played
+	private volatile int visits;
+	
+	// The total reward to the mover of the playouts through this node which have
+	// finished, in units of 1/REWARD_SCALE
+	private volatile long value;
+	
+	/**
+	 * Constructs a node which has not been visited
+	 * 
+	 * @param move  the move which leads to this node
+	 * @param mover the number of the player who made the move
+	 */
+	MctsNode(int move, int mover) {
+		this.move = move;
+		this.mover = mover;
+	}
+	
+	/**
+	 * Gets the children of this node, creating them if no thread has yet.  Only the
+	 * thread which claims the node generates its moves; a thread which finds another
+	 * one still generating them does not wait, and gets null.  The board must be in this
+	 * node's position; a player to move who has passed or cannot move gets a single pass
+	 * 
+	 * @param board a board in this node's position
+	 * @param moves a list to generate the moves in
+	 * @return the children of this node, or null if they are being created
+	 */
+	MctsNode[] expand(Board board, MoveList moves) {
+		if(state == EXPANDED) return children;
+		if(STATE.compareAndSet(this, UNEXPANDED, EXPANDING) == false) return children;
+		
+		Player p = board.getPlayerToMove();
+		if(p.getHasPassed()) moves.clear();
+		else board.generateMoves(p, moves);
+		if(moves.isEmpty()) moves.add(Move.PASS);
+		
+		MctsNode[] created = new MctsNode[moves.size()];
+		for(int i = 0; i < created.length; i++) created[i] = new MctsNode(moves.get(i), p.getPlayerNum());
+		children = created;
+		state = EXPANDED;
+		return created;
+	}
+	
+	/**
+	 * Gets the children of this node
+	 * 
+	 * @return the children, or null if this node has not been expanded
+	 */
+	MctsNode[] getChildren() {
+		return children;
+	}
+	
+	/**
+	 * Picks the child to search next by the UCT rule: the best average reward to the
+	 * player to move, plus a bonus for the children which have been visited least.  A
+	 * child which has not been visited is always picked first.  Playouts still being
+	 * played count as visits with no reward, so threads searching together spread out
+	 * 
+	 * @param exploration the weight of the bonus
+	 * @param start       which child to start looking at, from 0 up to the number of
+	 *                    children, so that unvisited children are not always tried in
+	 *                    the same order
+	 * @return the child to search next
+	 */
+	MctsNode select(double exploration, int start) {
+		MctsNode[] nodes = children;
+		double logVisits = Math.log(Math.max(1, visits));
+		
+		MctsNode best = null;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < nodes.length; i++) {
+			MctsNode child = nodes[(start + i) % nodes.length];
+			int n = child.visits;
+			if(n == 0) return child;
+			
+			double score = (double)child.value/(REWARD_SCALE*n) + exploration*Math.sqrt(logVisits/n);
+			if(score > bestScore) {
+				bestScore = score;
+				best = child;
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Counts a playout passing through this node, before its reward is known
+	 * 
+	 * @return the number of visits to this node, counting this one
+	 */
+	int addVisit() {
+		return VISITS.incrementAndGet(this);
+	}
+	
+	/**
+	 * Adds the reward of a finished playout through this node
+	 * 
+	 * @param reward the reward to this node's mover, from 0 to 1
+	 */
+	void addValue(double reward) {
+		VALUE.addAndGet(this, Math.round(reward*REWARD_SCALE));
+	}
+	
+	/**
+	 * Gets the number of playouts through this node
+	 * 
+	 * @return the number of visits
+	 */
+	int getVisits() {
+		return visits;
+	}
+	
+	/**
+	 * Gets the total reward to the mover of the finished playouts through this node
+	 * 
+	 * @return the total reward
+	 */
+	double getValue() {
+		return (double)value/REWARD_SCALE;
+	}
+}
@@ -0,0 +1,299 @@
+package santanjm.blokus;
+
+import java.util.*;
+
+import santanjm.blokus.*;
+
+/**
+ * A computer player which picks its moves by Monte Carlo tree search: it plays out many
+ * games from the current position, choosing the moves to try near the root by the UCT
+ * rule and the rest at random, and plays the move that was tried most.  The playouts are
+ * played on copies of the board by several threads, which either each grow a tree of
+ * their own and add up their visits at the root, or all grow one shared tree
+ */
+public class MctsPlayer extends Player {
+	// Every thread searches its own tree, and the trees' root visits are added up
+	public static final int ROOT_PARALLEL = 0;
+	
+	// Every thread searches the same tree
+	public static final int TREE_PARALLEL = 1;
+	
+	// The number of random moves a heuristic playout picks the largest piece from
+	private static final int PLAYOUT_SAMPLES = 3;
+	
+	// How the threads share their work, ROOT_PARALLEL or TREE_PARALLEL
+	private int parallelism;
+	
+	// The time allowed to pick each move, in milliseconds
+	private long timeBudget;
+	
+	// The number of threads searching
+	private int threads;
+	
+	// The weight UCT gives to trying the moves which have been tried least
+	private double exploration;
+	
+	// Whether playouts favour large pieces instead of picking moves uniformly at random
+	private boolean heuristic;
+	
+	// The number of playouts in the last search
+	private long playouts;
+	
+	/**
+	 * Constructs a computer player
+	 * 
+	 * @param gameBoard   the board on which this player will play the game
+	 * @param pNum        this player's number (used in determining turn order)
+	 * @param parallelism ROOT_PARALLEL or TREE_PARALLEL
+	 * @param timeBudget  the time allowed to pick each move, in milliseconds
+	 * @param threads     the number of threads to search with
+	 * @param exploration the weight UCT gives to trying the moves which have been tried
+	 *                    least
+	 * @param heuristic   true for playouts which favour large pieces, false for uniformly
+	 *                    random playouts
+	 * @throws IllegalArgumentException if the parallelism is unknown or a limit is not
+	 *                                  positive
+	 */
+	public MctsPlayer(Board gameBoard, int pNum, int parallelism, long timeBudget, int threads,
+			double exploration, boolean heuristic) throws IllegalArgumentException {
+		super(gameBoard, pNum);
+		if(parallelism != ROOT_PARALLEL && parallelism != TREE_PARALLEL) {
+			throw new IllegalArgumentException("Unknown parallelism " + parallelism);
+		}
+		if(timeBudget <= 0 || threads <= 0 || exploration < 0) {
+			throw new IllegalArgumentException("Search limits must be positive");
+		}
+		
+		this.parallelism = parallelism;
+		this.timeBudget = timeBudget;
+		this.threads = threads;
+		this.exploration = exploration;
+		this.heuristic = heuristic;
+	}
+	
+	/**
+	 * Constructs a computer player which searches one shared tree with a thread for each
+	 * processor and plays out games favouring large pieces
+	 * 
+	 * @param gameBoard  the board on which this player will play the game
+	 * @param pNum       this player's number (used in determining turn order)
+	 * @param timeBudget the time allowed to pick each move, in milliseconds
+	 */
+	public MctsPlayer(Board gameBoard, int pNum, long timeBudget) {
+		this(gameBoard, pNum, TREE_PARALLEL, timeBudget, Runtime.getRuntime().availableProcessors(),
+				Math.sqrt(2), true);
+	}
+	
+	@Override
+	public boolean isHuman() {
+		return false;
+	}
+	
+	/**
+	 * Picks a move and submits it to the board
+	 * 
+	 * @param board the board the game is being played on
+	 */
+	@Override
+	public void takeTurn(Board board) {
+		board.submitMove(board.getTurn(), chooseMove(board));
+	}
+	
+	/**
+	 * Picks this player's move on a board where it is this player's turn.  The search is
+	 * done on copies of the board, which is left untouched
+	 * 
+	 * @param board the board to pick a move on
+	 * @return the move tried most, or Move.PASS if there are no moves
+	 */
+	public int chooseMove(Board board) {
+		playouts = 0;
+		if(getHasPassed()) return Move.PASS;
+		MoveList moves = board.generateMoves(this);
+		if(moves.isEmpty()) return Move.PASS;
+		if(moves.size() == 1) return moves.get(0);
+		
+		long deadline = System.nanoTime() + timeBudget * 1000000L;
+		MctsNode shared = new MctsNode(Move.PASS, 0);
+		Worker[] workers = new Worker[threads];
+		Thread[] running = new Thread[threads];
+		for(int i = 0; i < threads; i++) {
+			MctsNode root = parallelism == TREE_PARALLEL ? shared : new MctsNode(Move.PASS, 0);
+			workers[i] = new Worker(board.copyPosition(), root, deadline, System.nanoTime() + 31*i);
+			running[i] = new Thread(workers[i], "mcts-" + i);
+			running[i].setDaemon(true);
+			running[i].start();
+		}
+		
+		// Add up the visits to each move at the roots of all of the trees searched
+		Map<Integer, Integer> visits = new HashMap<Integer, Integer>();
+		for(int i = 0; i < threads; i++) {
+			try {
+				running[i].join();
+			} catch(InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return moves.get(0);
+			}
+			playouts += workers[i].playouts;
+			if(parallelism == TREE_PARALLEL && i > 0) continue;
+			
+			MctsNode[] children = workers[i].root.getChildren();
+			if(children == null) continue;
+			for(MctsNode child : children) {
+				Integer total = visits.get(child.move);
+				visits.put(child.move, (total == null ? 0 : total) + child.getVisits());
+			}
+		}
+		
+		int best = moves.get(0);
+		int bestVisits = -1;
+		for(Map.Entry<Integer, Integer> entry : visits.entrySet()) {
+			if(entry.getValue() > bestVisits) {
+				bestVisits = entry.getValue();
+				best = entry.getKey();
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Gets the number of games played out by the last call to chooseMove, over all
+	 * threads
+	 * 
+	 * @return the number of playouts
+	 */
+	public long getPlayouts() {
+		return playouts;
+	}
+	
+	/**
+	 * One thread of the search, which plays out games on its own copy of the board until
+	 * its time runs out
+	 */
+	private class Worker implements Runnable {
+		// This thread's copy of the board, kept in the root's position between playouts
+		private Board board;
+		
+		// The root of the tree being searched
+		private MctsNode root;
+		
+		// The time to stop searching, from System.nanoTime
+		private long deadline;
+		
+		// The source of this thread's random moves
+		private Random random;
+		
+		// The list moves are generated in
+		private MoveList moves = new MoveList();
+		
+		// The nodes visited by the current playout, root first
+		private List<MctsNode> path = new ArrayList<MctsNode>();
+		
+		// The reward of the current playout to each player, by number - 1
+		private double[] rewards;
+		
+		// The number of playouts this thread has played
+		private long playouts;
+		
+		/**
+		 * Constructs a thread of the search
+		 * 
+		 * @param board    a copy of the board in the root's position
+		 * @param root     the root of the tree to search
+		 * @param deadline the time to stop searching, from System.nanoTime
+		 * @param seed     the seed of this thread's random moves
+		 */
+		Worker(Board board, MctsNode root, long deadline, long seed) {
+			this.board = board;
+			this.root = root;
+			this.deadline = deadline;
+			random = new Random(seed);
+			rewards = new double[board.getNumPlayers()];
+		}
+		
+		/**
+		 * Plays out games until the deadline
+		 */
+		public void run() {
+			do {
+				playout();
+				playouts++;
+			} while(System.nanoTime() < deadline);
+		}
+		
+		/**
+		 * Plays out one game: down the tree by UCT to a node which had not been visited,
+		 * then at random to the end of the game, and back up the tree with the rewards
+		 */
+		private void playout() {
+			path.clear();
+			MctsNode node = root;
+			node.addVisit();
+			path.add(node);
+			
+			// Walk down the tree, adding the first unvisited node reached, or stopping at a
+			// node another thread is still expanding
+			while(board.allPlayersPassed() == false) {
+				MctsNode[] children = node.expand(board, moves);
+				if(children == null) break;
+				node = node.select(exploration, random.nextInt(children.length));
+				int visited = node.addVisit();
+				board.makeMove(node.move);
+				path.add(node);
+				if(visited == 1) break;
+			}
+			
+			// Play the rest of the game at random
+			while(board.allPlayersPassed() == false) board.makeMove(randomMove());
+			
+			score();
+			for(int i = 1; i < path.size(); i++) {
+				MctsNode visited = path.get(i);
+				visited.addValue(rewards[visited.mover - 1]);
+			}
+			while(board.getNumMovesMade() > 0) board.unmakeMove();
+		}
+		
+		/**
+		 * Picks a random move for the player to move.  Heuristic playouts take the
+		 * largest piece out of a few random moves
+		 * 
+		 * @return a move, or Move.PASS if the player to move has passed or cannot move
+		 */
+		private int randomMove() {
+			Player p = board.getPlayerToMove();
+			if(p.getHasPassed()) return Move.PASS;
+			board.generateMoves(p, moves);
+			if(moves.isEmpty()) return Move.PASS;
+			
+			int move = moves.get(random.nextInt(moves.size()));
+			if(heuristic == false) return move;
+			for(int i = 1; i < PLAYOUT_SAMPLES; i++) {
+				int other = moves.get(random.nextInt(moves.size()));
+				if(PieceCatalog.getClassification(Move.getPiece(other))
+						> PieceCatalog.getClassification(Move.getPiece(move))) move = other;
+			}
+			return move;
+		}
+		
+		/**
+		 * Works out the reward of the finished game to each player: the players with the
+		 * best score share a reward of 1, and everyone else gets 0
+		 */
+		private void score() {
+			int best = Integer.MIN_VALUE;
+			int winners = 0;
+			for(int pNum = 1; pNum <= rewards.length; pNum++) {
+				int score = board.getPlayerFromNum(pNum).getScore();
+				if(score > best) {
+					best = score;
+					winners = 0;
+				}
+				if(score == best) winners++;
+			}
+			for(int pNum = 1; pNum <= rewards.length; pNum++) {
+				rewards[pNum-1] = board.getPlayerFromNum(pNum).getScore() == best ? 1.0/winners : 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package santanjm.blokus;
+
+import santanjm.blokus.*;
+
+/**
+ * Static helpers for moves packed into a single int, so that lists of moves can be
+ * generated and stored without creating an object per move.  A move is a piece id
+ * from the PieceCatalog, one of its orientations, and the column and row of the
+ * space that the piece's "head" nomino is placed on:
+ * bits 0-7   - column
+ * bits 8-15  - row
+ * bits 16-18 - orientation
+ * bits 19-23 - piece id
+ */
+public final class Move {
+	// The move made by a player who cannot, or will not, place another piece
+	public static final int PASS = -1;
+	
+	// The largest board (in columns and rows) a packed move can address
+	public static final int MAX_SIZE = 256;
+	
+	// Moves are never instantiated
+	private Move() {
+	}
+	
+	/**
+	 * Packs a move into an int
+	 * 
+	 * @param piece       the id of the piece in the PieceCatalog (0-20)
+	 * @param orientation the orientation of the piece (0-7)
+	 * @param col         the column the head of the piece is placed on
+	 * @param row         the row the head of the piece is placed on
+	 * @return the packed move
+	 */
+	public static int encode(int piece, int orientation, int col, int row) {
+		return (piece << 19) | (orientation << 16) | (row << 8) | col;
+	}
+	
+	/**
+	 * Checks that an int is a move at all: PASS, or a placement of one of the pieces in
+	 * the PieceCatalog.  Whether the move is legal on a board is another matter
+	 * 
+	 * @param move an int which may be a packed move
+	 * @return true if the move can be unpacked with the getters below
+	 */
+	public static boolean isValid(int move) {
+		return move == PASS || (move >= 0 && getPiece(move) < PieceCatalog.NUM_PIECES);
+	}
+	
+	/**
+	 * Gets the id of the piece placed by a move
+	 * 
+	 * @param move a packed move other than PASS
+	 * @return the id of the piece in the PieceCatalog
+	 */
+	public static int getPiece(int move) {
+		return move >>> 19;
+	}
+	
+	/**
+	 * Gets the orientation of the piece placed by a move
+	 * 
+	 * @param move a packed move other than PASS
+	 * @return the orientation of the piece (0-7)
+	 */
+	public static int getOrientation(int move) {
+		return (move >>> 16) & 7;
+	}
+	
+	/**
+	 * Gets the column the head of the piece placed by a move lands on
+	 * 
+	 * @param move a packed move other than PASS
+	 * @return the column of the piece's head
+	 */
+	public static int getCol(int move) {
+		return move & 0xff;
+	}
+	
+	/**
+	 * Gets the row the head of the piece placed by a move lands on
+	 * 
+	 * @param move a packed move other than PASS
+	 * @return the row of the piece's head
+	 */
+	public static int getRow(int move) {
+		return (move >>> 8) & 0xff;
+	}
+	
+	/**
+	 * Gets the move placing the same piece on the same spaces as the given move, but in
+	 * the piece's canonical orientation (see PieceCatalog.getCanonical).  Only canonical
+	 * moves are generated, so a move made some other way is compared with them after
+	 * passing through here
+	 * 
+	 * @param move a packed move
+	 * @return the equal move in canonical form, or PASS if the move is PASS
+	 */
+	public static int canonical(int move) {
+		if(move == PASS) return move;
+		
+		int piece = getPiece(move);
+		int orientation = getOrientation(move);
+		int canonical = PieceCatalog.getCanonical(piece, orientation);
+		if(canonical == orientation) return move;
+		
+		// Both orientations cover the same spaces, so their bounding boxes line up
+		int[] from = PieceCatalog.getBounds(piece, orientation);
+		int[] to = PieceCatalog.getBounds(piece, canonical);
+		return encode(piece, canonical, getCol(move) + from[0] - to[0], getRow(move) + from[1] - to[1]);
+	}
+	
+	/**
+	 * Returns a String representation of a packed move in the following format:
+	 * piece/orientation@[col, row], or "pass"
+	 * 
+	 * @param move a packed move
+	 * @return a readable form of the move
+	 */
+	public static String toString(int move) {
+		if(move == PASS) return "pass";
+		
+		return getPiece(move) + "/" + getOrientation(move) + "@[" + getCol(move) + ", " 
+				+ getRow(move) + "]";
+	}
+}
@@ -0,0 +1,127 @@
+package santanjm.blokus;
+
+import java.util.Arrays;
+
+import santanjm.blokus.*;
+
+/**
+ * A growable list of packed moves (see Move) backed by a plain int array, which can
+ * be cleared and refilled without allocating anything once it has grown large enough
+ */
+public class MoveList {
+	// The moves in the list, in the order they were added
+	private int[] moves;
+	
+	// The number of moves in the list
+	private int size = 0;
+	
+	/**
+	 * Constructs an empty move list
+	 */
+	public MoveList() {
+		this(256);
+	}
+	
+	/**
+	 * Constructs an empty move list with room for the given number of moves
+	 * 
+	 * @param capacity the number of moves to make room for up front
+	 */
+	public MoveList(int capacity) {
+		moves = new int[Math.max(capacity, 1)];
+	}
+	
+	/**
+	 * Adds a move to the end of the list
+	 * 
+	 * @param move a packed move
+	 */
+	public void add(int move) {
+		if(size == moves.length) moves = Arrays.copyOf(moves, 2*size);
+		moves[size++] = move;
+	}
+	
+	/**
+	 * Gets the move at a position in the list
+	 * 
+	 * @param i the position of the move
+	 * @return the packed move at position i
+	 * @throws IndexOutOfBoundsException if i is not a position in the list
+	 */
+	public int get(int i) throws IndexOutOfBoundsException {
+		if(i < 0 || size <= i) throw new IndexOutOfBoundsException("No move at " + i);
+		return moves[i];
+	}
+	
+	/**
+	 * Gets the number of moves in the list
+	 * 
+	 * @return the size of the list
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns whether the list has no moves in it
+	 * 
+	 * @return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Returns whether a move is in the list
+	 * 
+	 * @param move a packed move
+	 * @return true if the list holds the move
+	 */
+	public boolean contains(int move) {
+		for(int i = 0; i < size; i++) {
+			if(moves[i] == move) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Sorts the moves in the list into ascending order.  A packed move keeps its piece id
+	 * in its highest bits, so this puts the moves in order of piece id
+	 */
+	public void sort() {
+		Arrays.sort(moves, 0, size);
+	}
+	
+	/**
+	 * Moves a move to the front of the list, shifting the moves before it back by one
+	 * 
+	 * @param move a packed move
+	 * @return true if the move was in the list
+	 */
+	public boolean moveToFront(int move) {
+		for(int i = 0; i < size; i++) {
+			if(moves[i] == move) {
+				System.arraycopy(moves, 0, moves, 1, i);
+				moves[0] = move;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Empties the list, keeping its capacity
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * Copies the moves in the list into a new array
+	 * 
+	 * @return an array of the moves in the list
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(moves, size);
+	}
+}
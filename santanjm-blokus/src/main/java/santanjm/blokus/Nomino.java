@@ -27,6 +27,26 @@ public class Nomino {
 	// this nomino is a piece of (this will always be between 1 and 5)
 	private int classification = 1;
 	
+	// The id of this piece in the PieceCatalog (0-20), or -1 for a nomino that is not
+	// the "head" of one of a player's 21 pieces
+	private int pieceId = -1;
+	
+	// The position of this piece among its owner's pieces of the same classification,
+	// or -1 for a nomino that is not the "head" of one of a player's 21 pieces
+	private int index = -1;
+	
+	// The orientation of this piece in the PieceCatalog (0-7)
+	private int orientation = 0;
+	
+	// Every nomino making up this piece, in the order of the PieceCatalog's offsets
+	// (only kept by the "head" of a catalog piece)
+	private Nomino[] cells;
+	
+	// The offsets of the nominos in cells from this one in the piece's current
+	// orientation, packed dx0, dy0, dx1, dy1, ... and only changed by rotating or
+	// reflecting the piece (only kept by the "head" of a catalog piece)
+	private int[] offsets;
+	
 	/**
 	 * Construct a new Nomino owned by the given player
 	 * 
@@ -86,8 +106,24 @@ public class Nomino {
 	/**
 	 * Updates the coordinates of every nomino attached to the calling nomino relative
 	 * to the coordinates of the calling nomino
+	 * 
+	 * @return false if any of the nominos ended up outside the grid
 	 */
 	private boolean updateCoords() {
+		// A catalog piece already knows where each of its nominos lies from its head
+		if(cells != null) {
+			boolean isOut = false;
+			for(int k = 1; k < cells.length; k++) {
+				Nomino cell = cells[k];
+				cell.col = col + offsets[2*k];
+				cell.row = row + offsets[2*k+1];
+				if((cell.col < 0 || board.getSize() <= cell.col) ||
+						(cell.row < 0 || board.getSize() <= cell.row))
+					isOut = true;
+			}
+			return ! isOut;
+		}
+		
 		// The current nomino
 		Nomino curr = this;
 		
@@ -142,7 +178,7 @@ public class Nomino {
 	 */
 	public void shiftIntoGrid() {
 		// Every nomino attached to this nomino
-		Nomino[] attached = searchAllUnique(walk());
+		Nomino[] attached = getCells();
 		
 		// We keep track of the smallest and largest column and row of each attached nomino
 		int minCol = 0, minRow = 0;
@@ -150,11 +186,10 @@ public class Nomino {
 		
 		// Iterate through the attached nominos and update the min and max values when needed
 		for(Nomino n : attached) {
-			int[] coords = n.getCoords();
-			if(coords[0] < minCol) minCol = coords[0];
-			if(coords[0] > maxCol) maxCol = coords[0];
-			if(coords[1] < minRow) minRow = coords[1];
-			if(coords[1] > maxRow) maxRow = coords[1];
+			if(n.col < minCol) minCol = n.col;
+			if(n.col > maxCol) maxCol = n.col;
+			if(n.row < minRow) minRow = n.row;
+			if(n.row > maxRow) maxRow = n.row;
 		}
 		
 		// Now move the piece onto the grid
@@ -229,6 +264,12 @@ public class Nomino {
 			return;
 		}
 		
+		// A piece from the catalog already knows all of its nominos
+		if(cells != null) {
+			for(Nomino cell : cells) cell.placed = true;
+			return;
+		}
+		
 		// All nominos somehow attached to this nomino
 		Nomino[] attached = searchAllUnique(walk());
 		
@@ -237,7 +278,6 @@ public class Nomino {
 	}
 	
 	/**
-	 * (TESTING PURPOSES ONLY)
 	 * Sets the placed field for this nomino to false, indicating it has been
 	 * taken off of the board
 	 */
@@ -248,6 +288,12 @@ public class Nomino {
 			return;
 		}
 		
+		// A piece from the catalog already knows all of its nominos
+		if(cells != null) {
+			for(Nomino cell : cells) cell.placed = false;
+			return;
+		}
+		
 		// All nominos somehow attached to this nomino
 		Nomino[] attached = searchAllUnique(walk());
 		
@@ -475,26 +521,12 @@ public class Nomino {
 	}
 	
 	/**
-	 * Gets the index of this Nomino in its owning Player's pieces map
+	 * Gets the index of this Nomino among its owning Player's pieces
 	 * 
-	 * @return the index corresponding to this Nomino among all pieces of its classification
+	 * @return the index corresponding to this Nomino among all pieces of its classification,
+	 *         or -1 if this nomino is not one of its owner's pieces
 	 */
 	public int getIndex() {
-		// The map of pieces owned by the owner of this nomino
-		Map<Integer, Nomino[]> ownerPieces = owner.getPieces();
-		
-		// The value of the map at the same classification as this nomino
-		Nomino[] sameClass = ownerPieces.get(classification);
-		
-		// The index in the array which corresponds to this nomino
-		int index = -1;
-		
-		for(int i = 0; i < sameClass.length; i++) {
-			if(sameClass[i].equals(this)) {
-				index = i;
-				break;
-			}
-		}	
 		return index;
 	}
 
@@ -640,6 +672,18 @@ public class Nomino {
 		return result.toArray(new Nomino[result.size()]);
 	}
 	
+	/**
+	 * Gets every nomino making up the piece this nomino is the "head" of, this nomino
+	 * included.  A catalog piece hands back the array it keeps, which must not be
+	 * modified, so only other nominos pay for a walk over their sides
+	 * 
+	 * @return every nomino attached to this nomino, including this nomino
+	 */
+	public Nomino[] getCells() {
+		if(cells != null) return cells;
+		return searchAllUnique(walk());
+	}
+	
 	/**
 	 * Method that checks whether or not a nomino is attached somehow to this nomino
 	 * 
@@ -647,6 +691,14 @@ public class Nomino {
 	 * @return true if n is attach to this nomino and false otherwise
 	 */
 	public boolean contains(Nomino n) {
+		// A catalog piece already knows all of its nominos
+		if(cells != null) {
+			for(Nomino cell : cells) {
+				if(cell == n) return true;
+			}
+			return false;
+		}
+		
 		// Get a set of all of the nominos somehow connected to this nomino
 		Set<Nomino> attached = new HashSet<Nomino>(Arrays.asList(searchAllUnique(walk())));
 		if(attached.contains(n)) {
@@ -815,6 +867,14 @@ public class Nomino {
 		// If the nomino has a classification of 1, then simply return
 		if(classification == 1) return;
 		
+		// A catalog piece simply moves on to its next orientation in the catalog
+		if(pieceId >= 0) {
+			orientation = PieceCatalog.rotate(orientation);
+			relink();
+			if(setCoords(col, row) == false) shiftIntoGrid();
+			return;
+		}
+		
 		// If the nomino is square (meaning it is a tetromino whose walk is 4 steps),
 		// then we also simnply return
 		if(classification == 4 && walk().length == 4) return;
@@ -849,6 +909,14 @@ public class Nomino {
 		// If the nomino has a classification of 1, then simply return
 		if(classification == 1) return;
 		
+		// A catalog piece simply moves on to its reflected orientation in the catalog
+		if(pieceId >= 0) {
+			orientation = PieceCatalog.reflect(orientation, axis);
+			relink();
+			if(setCoords(col, row) == false) shiftIntoGrid();
+			return;
+		}
+		
 		// If the nomino is square (meaning it is a tetromino whose walk is 4 steps),
 		// then we also simnply return
 		if(classification == 4 && walk().length == 4) return;
@@ -892,6 +960,159 @@ public class Nomino {
 		if(setCoords(col, row) == false) shiftIntoGrid();
 	}
 	
+	/**
+	 * Ties this nomino, the "head" of one of a player's pieces, to that piece's entry
+	 * in the PieceCatalog so that it can be rotated and reflected through the catalog,
+	 * and fixes its id and its index among the pieces of its classification
+	 * 
+	 * @param id the id of the piece in the PieceCatalog (0-20)
+	 * @throws IllegalArgumentException if this nomino's shape is not that of the piece
+	 */
+	void bind(int id) throws IllegalArgumentException {
+		// The offsets of the piece's cells in the orientation the catalog starts in
+		int[] offsets = PieceCatalog.getOffsets(id, 0);
+		if(offsets.length / 2 != classification)
+			throw new IllegalArgumentException("Nomino is not the shape of piece " + id);
+		
+		// Every nomino attached to this one, and the offset of each from this one,
+		// found by walking the graph of sides outwards from this nomino
+		Nomino[] found = new Nomino[classification];
+		int[] dx = new int[classification], dy = new int[classification];
+		found[0] = this;
+		int count = 1;
+		for(int i = 0; i < count; i++) {
+			for(Direction dir : Direction.values()) {
+				Nomino next = found[i].sides[dir.ordinal()];
+				if(next == null || Arrays.asList(found).contains(next)) continue;
+				if(count == classification)
+					throw new IllegalArgumentException("Nomino is not the shape of piece " + id);
+				
+				found[count] = next;
+				dx[count] = dx[i] + (dir == Direction.RIGHT ? 1 : dir == Direction.LEFT ? -1 : 0);
+				dy[count] = dy[i] + (dir == Direction.BOTTOM ? 1 : dir == Direction.TOP ? -1 : 0);
+				count++;
+			}
+		}
+		
+		// Line the nominos up with the catalog's offsets
+		Nomino[] ordered = new Nomino[classification];
+		for(int i = 0; i < count; i++) {
+			for(int k = 0; k < classification; k++) {
+				if(offsets[2*k] == dx[i] && offsets[2*k+1] == dy[i]) ordered[k] = found[i];
+			}
+		}
+		for(Nomino n : ordered) {
+			if(n == null) throw new IllegalArgumentException("Nomino is not the shape of piece " + id);
+		}
+		
+		pieceId = id;
+		index = PieceCatalog.getIndex(id);
+		orientation = 0;
+		cells = ordered;
+		this.offsets = offsets;
+	}
+	
+	/**
+	 * Gets the id of this piece in the PieceCatalog
+	 * 
+	 * @return the piece's id (0-20), or -1 if this nomino is not a catalog piece
+	 */
+	public int getPieceId() {
+		return pieceId;
+	}
+	
+	/**
+	 * Gets the offsets of every nomino making up this piece from this one, packed dx0,
+	 * dy0, dx1, dy1, ... with this nomino first, so that the spaces the piece would cover
+	 * with this nomino at any coordinates can be worked out without moving or copying it.
+	 * A catalog piece hands back the offsets it keeps, which are shared by every player's
+	 * copy of the piece in the same orientation and must not be modified; only other
+	 * nominos pay for a walk over their sides
+	 * 
+	 * @return the packed offsets of the piece's nominos from this one
+	 */
+	public int[] getOffsets() {
+		if(offsets != null) return offsets;
+		
+		// Find every nomino attached to this one, and its offset, by walking outwards
+		// from this nomino over the graph of sides
+		Nomino[] found = new Nomino[classification];
+		int[] result = new int[2*classification];
+		found[0] = this;
+		int count = 1;
+		for(int i = 0; i < count; i++) {
+			for(Direction dir : Direction.values()) {
+				Nomino next = found[i].sides[dir.ordinal()];
+				if(next == null || Arrays.asList(found).contains(next)) continue;
+				
+				found[count] = next;
+				result[2*count] = result[2*i] + (dir == Direction.RIGHT ? 1 : dir == Direction.LEFT ? -1 : 0);
+				result[2*count+1] = result[2*i+1] + (dir == Direction.BOTTOM ? 1 : dir == Direction.TOP ? -1 : 0);
+				count++;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the orientation of this piece in the PieceCatalog
+	 * 
+	 * @return the piece's current orientation (0-7)
+	 */
+	public int getOrientation() {
+		return orientation;
+	}
+	
+	/**
+	 * Turns this catalog piece to the given orientation in the PieceCatalog in one step,
+	 * as a move made by anything other than the keyboard names the orientation outright.
+	 * The coordinates of the piece are not updated
+	 * 
+	 * @param orientation an orientation (0-7)
+	 * @throws IllegalArgumentException if this nomino is not the head of a catalog piece
+	 *                                  or the orientation is not between 0 and 7
+	 */
+	public void setOrientation(int orientation) throws IllegalArgumentException {
+		if(cells == null) throw new IllegalArgumentException("Only catalog pieces have orientations");
+		if(orientation < 0 || PieceCatalog.NUM_ORIENTATIONS <= orientation) {
+			throw new IllegalArgumentException("Orientations must be in range 0 to 7");
+		}
+		
+		this.orientation = orientation;
+		relink();
+	}
+	
+	/**
+	 * Reconnects the sides of every nomino of this catalog piece so that they are laid
+	 * out as the catalog's offsets for the piece's current orientation, and keeps those
+	 * offsets for updating coordinates.  The nominos themselves are reused, so nothing
+	 * is allocated
+	 */
+	private void relink() {
+		offsets = PieceCatalog.getOffsets(pieceId, orientation);
+		
+		for(Nomino n : cells) Arrays.fill(n.sides, null);
+		
+		// Any two nominos whose offsets are one space apart are attached to each other
+		for(int i = 0; i < cells.length; i++) {
+			for(int j = i+1; j < cells.length; j++) {
+				int dx = offsets[2*j] - offsets[2*i];
+				int dy = offsets[2*j+1] - offsets[2*i+1];
+				
+				Direction dir = null;
+				if(dx == 0 && dy == -1) dir = Direction.TOP;
+				if(dx == 1 && dy == 0)  dir = Direction.RIGHT;
+				if(dx == 0 && dy == 1)  dir = Direction.BOTTOM;
+				if(dx == -1 && dy == 0) dir = Direction.LEFT;
+				
+				if(dir != null) {
+					cells[i].sides[dir.ordinal()] = cells[j];
+					cells[j].sides[dir.getOppVal()] = cells[i];
+				}
+			}
+		}
+	}
+	
 	/**
 	 * Method that deconstructs the calling nomino and then reconstructs it using the
 	 * given array of directions, applying either rotation or reflection
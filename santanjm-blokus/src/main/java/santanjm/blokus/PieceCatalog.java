@@ -0,0 +1,338 @@
+package santanjm.blokus;
+
+import santanjm.blokus.*;
+
+/**
+ * Static, immutable table of the 21 Blokus pieces in every orientation, built once
+ * when the class is loaded.  Pieces are numbered 0-20 in the order Player creates
+ * them (createClass1 through createClass5) and orientations are numbered 0-7, where
+ * orientation r + 4*f is the piece reflected over the y-axis f times and then rotated
+ * 90 degrees clockwise r times.  Because every piece shares the same numbering of
+ * orientations, rotating or reflecting a piece is just a lookup of a new orientation
+ */
+public final class PieceCatalog {
+	// The number of distinct pieces each player has
+	public static final int NUM_PIECES = 21;
+	
+	// The number of ways of orienting a piece (4 rotations, each possibly reflected)
+	public static final int NUM_ORIENTATIONS = 8;
+	
+	// The width of the square box the bitmask of each orientation is drawn in
+	public static final int MASK_WIDTH = 5;
+	
+	// The number of nominos in the largest pieces
+	public static final int MAX_CLASSIFICATION = 5;
+	
+	// A set of pieces with every piece in it, one bit per piece id
+	public static final int ALL_PIECES = (1 << NUM_PIECES) - 1;
+	
+	// The cells of every piece as (column, row) offsets from its "head" nomino, exactly
+	// as Player builds them, with the head listed first
+	private static final int[][] SHAPES = {
+		// Class 1: monomino
+		{0,0},
+		// Class 2: domino
+		{0,0, -1,0},
+		// Class 3: corner, line3
+		{0,0, -1,0, 0,1},
+		{0,0, -1,0, 1,0},
+		// Class 4: square, zshape, line4, tshape, lshape
+		{0,0, -1,0, 0,1, -1,1},
+		{0,0, -1,0, 0,1, -1,-1},
+		{0,0, -1,0, 1,0, 2,0},
+		{0,0, -1,0, 1,0, 0,-1},
+		{0,0, -1,0, 1,0, 1,-1},
+		// Class 5: squarePlus, zshapePlus, zshapeLong, wshape, line5, lshapeLong,
+		// tshapePlus, cross, tshapeLong, bowl, lshapePlus, windmill
+		{0,0, -1,0, 0,1, -1,1, 1,0},
+		{0,0, -1,0, 0,1, -1,-1, 1,0},
+		{0,0, -1,0, 0,1, -1,-1, 0,2},
+		{0,0, -1,0, 0,1, -1,-1, 1,1},
+		{0,0, -1,0, 1,0, 2,0, 3,0},
+		{0,0, -1,0, 1,0, 2,0, -1,-1},
+		{0,0, -1,0, 1,0, 0,-1, 2,0},
+		{0,0, -1,0, 1,0, 0,-1, 0,1},
+		{0,0, -1,0, 1,0, 0,-1, 0,-2},
+		{0,0, -1,0, 1,0, 1,-1, -1,-1},
+		{0,0, -1,0, 1,0, 1,-1, 1,-2},
+		{0,0, -1,0, 1,0, 1,-1, -1,1}
+	};
+	
+	// The id of the first piece of each classification (index 0 unused), so the piece
+	// at position i of classification c has id FIRST_OF_CLASS[c] + i
+	private static final int[] FIRST_OF_CLASS = {0, 0, 1, 2, 4, 9, 21};
+	
+	// Packed offsets of every piece in every orientation: [piece][orientation] holds
+	// dx0, dy0, dx1, dy1, ... with the head always first at (0, 0)
+	private static final int[][][] OFFSETS = new int[NUM_PIECES][NUM_ORIENTATIONS][];
+	
+	// The bounding box of every piece in every orientation relative to its head:
+	// [piece][orientation] holds minimum dx, minimum dy, maximum dx, maximum dy
+	private static final int[][][] BOUNDS = new int[NUM_PIECES][NUM_ORIENTATIONS][];
+	
+	// Bitmask of every piece in every orientation, translated into the top left corner
+	// of a MASK_WIDTH x MASK_WIDTH box, bit (MASK_WIDTH*y + x) being the cell at (x, y)
+	private static final int[][] MASKS = new int[NUM_PIECES][NUM_ORIENTATIONS];
+	
+	// For every piece, the orientations which give it a shape no lower orientation does
+	private static final int[][] UNIQUE = new int[NUM_PIECES][];
+	
+	// For every piece and orientation, the unique orientation with the same shape
+	private static final int[][] CANONICAL = new int[NUM_PIECES][NUM_ORIENTATIONS];
+	
+	static {
+		for(int piece = 0; piece < NUM_PIECES; piece++) build(piece);
+	}
+	
+	// The catalog is never instantiated
+	private PieceCatalog() {
+	}
+	
+	/**
+	 * Fills in every table entry of a piece from its shape
+	 * 
+	 * @param piece the id of the piece to build
+	 */
+	private static void build(int piece) {
+		int[] shape = SHAPES[piece];
+		int n = shape.length / 2;
+		
+		// A piece containing a 2x2 square turns about the centre of that square, so the
+		// square stays in place (and the square tetromino does not move at all), while
+		// every other piece turns about its head.  Pivots are in doubled coordinates
+		int px = 0, py = 0;
+		for(int i = 0; i < n; i++) {
+			int x = shape[2*i], y = shape[2*i+1];
+			if(has(shape, x+1, y) && has(shape, x, y+1) && has(shape, x+1, y+1)) {
+				px = 2*x + 1;
+				py = 2*y + 1;
+				break;
+			}
+		}
+		
+		// The number of unique orientations found so far
+		int unique = 0;
+		int[] uniqueOrientations = new int[NUM_ORIENTATIONS];
+		
+		for(int o = 0; o < NUM_ORIENTATIONS; o++) {
+			int[] offsets = new int[2*n];
+			
+			// The next free position in offsets after the head
+			int next = 1;
+			for(int i = 0; i < n; i++) {
+				// The cell relative to the pivot, in doubled coordinates
+				int vx = 2*shape[2*i] - px;
+				int vy = 2*shape[2*i+1] - py;
+				
+				// Reflect over the y-axis, then rotate 90 degrees clockwise r times
+				if(o >= 4) vx = -vx;
+				for(int r = 0; r < (o & 3); r++) {
+					int t = vx;
+					vx = -vy;
+					vy = t;
+				}
+				int x = (vx + px) / 2;
+				int y = (vy + py) / 2;
+				
+				// Keep the head at the front of the offsets
+				int at = (x == 0 && y == 0) ? 0 : next++;
+				if(at >= n) throw new IllegalStateException("Piece " + piece + " lost its head");
+				offsets[2*at] = x;
+				offsets[2*at+1] = y;
+			}
+			OFFSETS[piece][o] = offsets;
+			
+			// The bounding box and bitmask of the orientation
+			int minx = 0, miny = 0, maxx = 0, maxy = 0;
+			for(int i = 0; i < n; i++) {
+				minx = Math.min(minx, offsets[2*i]);
+				miny = Math.min(miny, offsets[2*i+1]);
+				maxx = Math.max(maxx, offsets[2*i]);
+				maxy = Math.max(maxy, offsets[2*i+1]);
+			}
+			BOUNDS[piece][o] = new int[] {minx, miny, maxx, maxy};
+			
+			int mask = 0;
+			for(int i = 0; i < n; i++) {
+				mask |= 1 << (MASK_WIDTH*(offsets[2*i+1] - miny) + (offsets[2*i] - minx));
+			}
+			MASKS[piece][o] = mask;
+			
+			// Record whether this orientation's shape is new
+			CANONICAL[piece][o] = o;
+			for(int u = 0; u < unique; u++) {
+				if(MASKS[piece][uniqueOrientations[u]] == mask) {
+					CANONICAL[piece][o] = uniqueOrientations[u];
+					break;
+				}
+			}
+			if(CANONICAL[piece][o] == o) uniqueOrientations[unique++] = o;
+		}
+		
+		UNIQUE[piece] = new int[unique];
+		System.arraycopy(uniqueOrientations, 0, UNIQUE[piece], 0, unique);
+	}
+	
+	/**
+	 * Tests whether a shape contains a cell at the given offset
+	 * 
+	 * @param shape packed offsets of a shape
+	 * @param x     the column offset
+	 * @param y     the row offset
+	 * @return true if the shape has a cell at (x, y)
+	 */
+	private static boolean has(int[] shape, int x, int y) {
+		for(int i = 0; i < shape.length; i += 2) {
+			if(shape[i] == x && shape[i+1] == y) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Gets the id of a piece from its classification and its index within that classification
+	 * 
+	 * @param classification the classification of the piece (1-5)
+	 * @param index          the position of the piece among pieces of its classification
+	 * @return the id of the piece (0-20)
+	 * @throws IllegalArgumentException if there is no such piece
+	 */
+	public static int getPieceId(int classification, int index) throws IllegalArgumentException {
+		if(classification < 1 || 5 < classification)
+			throw new IllegalArgumentException("Classification must be in range 1 to 5");
+		if(index < 0 || FIRST_OF_CLASS[classification] + index >= FIRST_OF_CLASS[classification+1])
+			throw new IllegalArgumentException("No piece " + index + " of classification "
+					+ classification);
+		
+		return FIRST_OF_CLASS[classification] + index;
+	}
+	
+	/**
+	 * Gets the classification of a piece, which is also its number of cells
+	 * 
+	 * @param piece the id of a piece
+	 * @return the classification of the piece (1-5)
+	 */
+	public static int getClassification(int piece) {
+		return SHAPES[piece].length / 2;
+	}
+	
+	/**
+	 * Gets the position of a piece among the pieces of its classification
+	 * 
+	 * @param piece the id of a piece
+	 * @return the index of the piece within its classification
+	 */
+	public static int getIndex(int piece) {
+		return piece - FIRST_OF_CLASS[getClassification(piece)];
+	}
+	
+	/**
+	 * Gets the set of pieces of a classification, which take up consecutive ids
+	 * 
+	 * @param classification the classification of the pieces (1-5)
+	 * @return the pieces of that classification, one bit per piece id
+	 */
+	public static int getClassMask(int classification) {
+		return (1 << FIRST_OF_CLASS[classification+1]) - (1 << FIRST_OF_CLASS[classification]);
+	}
+	
+	/**
+	 * Gets the packed offsets of a piece's cells from its head in the given orientation,
+	 * laid out dx0, dy0, dx1, dy1, ... with the head first.  The returned array is
+	 * shared and must not be modified
+	 * 
+	 * @param piece       the id of a piece
+	 * @param orientation an orientation (0-7)
+	 * @return the packed offsets of the piece's cells
+	 */
+	public static int[] getOffsets(int piece, int orientation) {
+		return OFFSETS[piece][orientation];
+	}
+	
+	/**
+	 * Gets the bounding box of a piece's cells relative to its head in the given
+	 * orientation as {min dx, min dy, max dx, max dy}.  The returned array is shared
+	 * and must not be modified
+	 * 
+	 * @param piece       the id of a piece
+	 * @param orientation an orientation (0-7)
+	 * @return the bounds of the piece's offsets
+	 */
+	public static int[] getBounds(int piece, int orientation) {
+		return BOUNDS[piece][orientation];
+	}
+	
+	/**
+	 * Gets the bitmask of a piece in the given orientation, drawn in the top left corner
+	 * of a MASK_WIDTH x MASK_WIDTH box.  Two orientations of a piece have the same shape
+	 * exactly when their masks are equal
+	 * 
+	 * @param piece       the id of a piece
+	 * @param orientation an orientation (0-7)
+	 * @return the bitmask of the oriented piece
+	 */
+	public static int getMask(int piece, int orientation) {
+		return MASKS[piece][orientation];
+	}
+	
+	/**
+	 * Gets the number of distinct shapes a piece takes over all 8 orientations
+	 * 
+	 * @param piece the id of a piece
+	 * @return the number of unique orientations of the piece (1-8)
+	 */
+	public static int getNumOrientations(int piece) {
+		return UNIQUE[piece].length;
+	}
+	
+	/**
+	 * Gets one of the unique orientations of a piece
+	 * 
+	 * @param piece the id of a piece
+	 * @param i     a value from 0 up to getNumOrientations(piece)
+	 * @return the i-th unique orientation of the piece
+	 */
+	public static int getOrientation(int piece, int i) {
+		return UNIQUE[piece][i];
+	}
+	
+	/**
+	 * Gets the unique orientation of a piece that has the same shape as the given one
+	 * 
+	 * @param piece       the id of a piece
+	 * @param orientation any orientation (0-7)
+	 * @return the lowest orientation giving the piece the same shape
+	 */
+	public static int getCanonical(int piece, int orientation) {
+		return CANONICAL[piece][orientation];
+	}
+	
+	/**
+	 * Gets the orientation reached by rotating a piece 90 degrees clockwise
+	 * 
+	 * @param orientation an orientation (0-7)
+	 * @return the orientation after the rotation
+	 */
+	public static int rotate(int orientation) {
+		return (orientation & 4) | ((orientation + 1) & 3);
+	}
+	
+	/**
+	 * Gets the orientation reached by reflecting a piece over the x or y axis
+	 * 
+	 * @param orientation an orientation (0-7)
+	 * @param axis        the axis to reflect over: 0-x and 1-y
+	 * @return the orientation after the reflection
+	 * @throws IllegalArgumentException if the given axis is not 0 or 1
+	 */
+	public static int reflect(int orientation, int axis) throws IllegalArgumentException {
+		// Reflecting over the y-axis undoes the rotations, and reflecting over the x-axis
+		// is the same as reflecting over the y-axis and then rotating 180 degrees
+		int r = orientation & 3;
+		switch(axis) {
+		case 0 : return (~orientation & 4) | ((6 - r) & 3);
+		case 1 : return (~orientation & 4) | ((4 - r) & 3);
+		default: throw new IllegalArgumentException("Given " + axis + " expected 0 or 1");
+		}
+	}
+}
@@ -13,18 +13,37 @@ public class Player {
 	public static final Direction RIGHT = Direction.RIGHT;
 	public static final Direction LEFT = Direction.LEFT;
 	
+	// The number of squares in a full set of pieces: one monomino, one domino, two
+	// trominos, five tetrominos and twelve pentominos
+	public static final int TOTAL_SQUARES = 89;
+	
+	// The bonus for placing every piece, and the extra bonus if the monomino went last
+	public static final int ALL_PLACED_BONUS = 15;
+	public static final int MONOMINO_LAST_BONUS = 5;
+	
 	// The number of polynominos the player has left
 	public int remainingPieces = 21;
 	
-	// Map of the classifications of the polynominos to an array of them
-	private Map<Integer, Nomino[]> pieces = new HashMap<Integer, Nomino[]>();
+	// The polynominos of each classification, indexed by classification (index 0 unused)
+	private Nomino[][] pieces = new Nomino[PieceCatalog.MAX_CLASSIFICATION + 1][];
+	
+	// The pieces the player has not placed, one bit per piece id
+	private int remaining = PieceCatalog.ALL_PIECES;
 	
 	// This player's number (used in determining turn order)
 	private int playerNum;
 	
-	// A set containing the indices (within the board's spaces field) of all spaces
-	// currently occupied by this player
-	private Set<Integer> occupying = new HashSet<Integer>();
+	// The number of spaces currently occupied by this player
+	private int spacesOccupied = 0;
+	
+	// The number of squares in the pieces this player has not placed
+	private int squaresRemaining = TOTAL_SQUARES;
+	
+	// The pieces this player has placed, in the order they were placed
+	private Nomino[] placedOrder = new Nomino[21];
+	
+	// The number of pieces in placedOrder
+	private int numPlaced = 0;
 	
 	// Flag indicating whether or not the player has passed their remaining turns
 	private boolean hasPassed = false;
@@ -47,19 +66,19 @@ public class Player {
 	 * Creates all 21 polynominos that this player starts the game with
 	 */
 	public void initPieces() {
-		// First create entries in the pieces map for each of the 5 classifications
+		// First create an array in pieces for each of the 5 classifications
 		// There is 1 polynomino of size 1 and 1 of size 2
-		pieces.put(1,  new Nomino[1]);
-		pieces.put(2, new Nomino[1]);
+		pieces[1] = new Nomino[1];
+		pieces[2] = new Nomino[1];
 		
 		// There are 2 polynominos of size 3
-		pieces.put(3, new Nomino[2]);
+		pieces[3] = new Nomino[2];
 		
 		// There are 5 polynominos of size 4
-		pieces.put(4, new Nomino[5]);
+		pieces[4] = new Nomino[5];
 		
 		// There are 12 polynominos of size 5
-		pieces.put(5, new Nomino[12]);
+		pieces[5] = new Nomino[12];
 		
 		// Now we create all of the pieces in order of classification
 		createClass1();
@@ -69,12 +88,26 @@ public class Player {
 		createClass5();
 	}
 	
+	/**
+	 * Puts a newly created piece into its place in the pieces array and ties it to its
+	 * shape in the piece catalog, which numbers the pieces in the order they are created,
+	 * so that its id and index are fixed from then on
+	 * 
+	 * @param classification the classification of the piece
+	 * @param index          the position of the piece among pieces of its classification
+	 * @param n              the "head" of the piece
+	 */
+	private void addPiece(int classification, int index, Nomino n) {
+		pieces[classification][index] = n;
+		n.bind(PieceCatalog.getPieceId(classification, index));
+	}
+	
 	/**
 	 * Creates the class 1 pieces
 	 */
 	public void createClass1() {
 		// The only class 1 nomino is that of the single monomino
-		pieces.get(1)[0] = new Nomino(this, board);
+		addPiece(1, 0, new Nomino(this, board));
 	}
 	
 	/**
@@ -88,8 +121,8 @@ public class Player {
 		// the left side of the "head" of the copied monomino
 		domino.attach(LEFT);
 		
-		// Finally we place the domino into our pieces map
-		pieces.get(2)[0] = domino;
+		// Finally we place the domino into our pieces
+		addPiece(2, 0, domino);
 	}
 	
 	/**
@@ -104,11 +137,11 @@ public class Player {
 		
 		// First we make the corner piece
 		corner.attach(BOTTOM);
-		pieces.get(3)[0] = corner;
+		addPiece(3, 0, corner);
 		
 		// Then we make the line3 piece
 		line3.attach(RIGHT);
-		pieces.get(3)[1] = line3;
+		addPiece(3, 1, line3);
 	}
 	
 	/**
@@ -125,12 +158,12 @@ public class Player {
 		// of the corner trinomino
 		square.attach(LEFT, BOTTOM);
 		square.search(LEFT).attachWithoutChangingClassification(BOTTOM, square.search(BOTTOM, LEFT));
-		pieces.get(4)[0] = square;
+		addPiece(4, 0, square);
 		
 		// To make the zshape, we attach a single nomino northwest of the "head"
 		// of the corner trinomino
 		zshape.attach(TOP, LEFT);
-		pieces.get(4)[1] = zshape;
+		addPiece(4, 1, zshape);
 		
 		// The other 3 class 4 nominos we derive from the line trinomino
 		Nomino line4 = getPiece(3, 1).duplicate();
@@ -140,17 +173,17 @@ public class Player {
 		// To make the line4, we attach a single nomino to the right of the 
 		// right of the "head" of the line3 nomino
 		line4.attach(RIGHT, RIGHT);
-		pieces.get(4)[2] = line4;
+		addPiece(4, 2, line4);
 		
 		// To the make the tshape, we attach a single nomino to the top of the "head"
 		// of the line3 nomino
 		tshape.attach(TOP);
-		pieces.get(4)[3] = tshape;
+		addPiece(4, 3, tshape);
 		
 		// To make the lshape, we attach a single nomino to the top of the right
 		// of the "head" of the line3 nomino
 		lshape.attach(TOP, RIGHT);
-		pieces.get(4)[4] = lshape;
+		addPiece(4, 4, lshape);
 	}
 	
 	/**
@@ -162,80 +195,80 @@ public class Player {
 		// except we attach one additional nomino right of the "head"
 		Nomino squarePlus = getPiece(4, 0).copy();
 		squarePlus.attach(RIGHT);
-		pieces.get(5)[0] = squarePlus;
+		addPiece(5, 0, squarePlus);
 		
 		// The zshapePlus nomino is made very similarly to the zshape tetranomino,
 		// except we attach one additional nomino right of the "head"
 		Nomino zshapePlus = getPiece(4, 1).copy();
 		zshapePlus.attach(RIGHT);
-		pieces.get(5)[1] = zshapePlus;
+		addPiece(5, 1, zshapePlus);
 		
 		// The zshapeLong nomino is made very similarly to the zshape tetranomino,
 		// except we attach one additional nomino below the nomino below the "head"
 		Nomino zshapeLong = getPiece(4, 1).copy();
 		zshapeLong.attach(BOTTOM, BOTTOM);
-		pieces.get(5)[2] = zshapeLong;
+		addPiece(5, 2, zshapeLong);
 		
 		// The wshape nomino is made very similarly to the zshape tetranomino,
 		// except we attach one additional nomino to the right of the nomino below the "head"
 		Nomino wshape = getPiece(4, 1).copy();;
 		wshape.attach(RIGHT, BOTTOM);
-		pieces.get(5)[3] = wshape;
+		addPiece(5, 3, wshape);
 		
 		// The line5 nomino is made very similarly to the line4 tetranomino,
 		// except we attach one additional nomino to the far right
 		Nomino line5 = getPiece(4, 2).copy();
 		line5.attach(RIGHT, RIGHT, RIGHT);
-		pieces.get(5)[4] = line5;
+		addPiece(5, 4, line5);
 		
 		// The lshapeLong nomino is made very similarly to the line4 tetranomino,
 		// except we attach one additional nomino to the top of the nomino left of the "head"
 		Nomino lshapeLong = getPiece(4, 2).copy();
 		lshapeLong.attach(TOP, LEFT);
-		pieces.get(5)[5] = lshapeLong;
+		addPiece(5, 5, lshapeLong);
 		
 		// The tshapePlus nomino is made from the tshape tetranomino by attaching
 		// one additonal nomino to the right of the right of the "head"
 		Nomino tshapePlus = getPiece(4, 3).copy();
 		tshapePlus.attach(RIGHT, RIGHT);
-		pieces.get(5)[6] = tshapePlus;
+		addPiece(5, 6, tshapePlus);
 		
 		// The cross nomino is made from the tshape tetranomino by attaching
 		// one additional nomino below the "head"
 		Nomino cross = getPiece(4, 3).copy();
 		cross.attach(BOTTOM);
-		pieces.get(5)[7] = cross;
+		addPiece(5, 7, cross);
 		
 		// The tshapeLong nomino is made from the tshape tetranomino by attaching
 		// one additional nomino to the top of the top of the "head"
 		Nomino tshapeLong = getPiece(4, 3).copy();
 		tshapeLong.attach(TOP, TOP);
-		pieces.get(5)[8] = tshapeLong;
+		addPiece(5, 8, tshapeLong);
 		
 		// The bowl nomino is made very similarly to the lshape trinomino,
 		// except we attach one additional nomino to the top of the right of the "head"
 		Nomino bowl = getPiece(4, 4).copy();
 		bowl.attach(TOP, LEFT);
-		pieces.get(5)[9] = bowl;
+		addPiece(5, 9, bowl);
 		
 		// The lshapePlus nomino is made very similarly to the lshape tetranomino,
 		// except we attach one additional nomino to the top of the nomino northeast of "head"
 		Nomino lshapePlus = getPiece(4, 4).copy();
 		lshapePlus.attach(TOP, RIGHT, TOP);
-		pieces.get(5)[10] = lshapePlus;
+		addPiece(5, 10, lshapePlus);
 		
 		// Finally, the windmill nomino is made very similarly to the lshape tetranomino,
 		// except we attach one additional nomino below the nomino to the left of the "head"
 		Nomino windmill = getPiece(4, 4).copy();
 		windmill.attach(BOTTOM, LEFT);
-		pieces.get(5)[11] = windmill;
+		addPiece(5, 11, windmill);
 	}
 	
 	/**
 	 * Gets a piece owned by this player with specified classification and index
 	 * 
 	 * @param classification the number of monominos that make up the piece
-	 * @param index          the position of that piece in pieces.get(classification)
+	 * @param index          the position of that piece in pieces[classification]
 	 * @return the polynomino of the requested type
 	 * @throws IllegalArgumentException if the given classificaiton is not between 1 and 5
 	 */
@@ -244,42 +277,35 @@ public class Player {
 		if(classification < 1 || classification > 5) {
 			throw new IllegalArgumentException("Classifications must be in range 1 to 5");
 		}
-		return pieces.get(classification)[index];
+		return pieces[classification][index];
+	}
+	
+	/**
+	 * Gets a piece owned by this player by its id in the PieceCatalog
+	 * 
+	 * @param pieceId the id of the piece (0-20)
+	 * @return the polynomino with that id
+	 * @throws IllegalArgumentException if the given id is not between 0 and 20
+	 */
+	public Nomino getPieceById(int pieceId) throws IllegalArgumentException {
+		if(pieceId < 0 || PieceCatalog.NUM_PIECES <= pieceId) {
+			throw new IllegalArgumentException("Piece ids must be in range 0 to 20");
+		}
+		return pieces[PieceCatalog.getClassification(pieceId)][PieceCatalog.getIndex(pieceId)];
 	}
 	
 	/**
 	 * Method that returns the piece owned by the player having the lowest classification,
 	 * and lowest index within that classification, of all pieces that the player has 
-	 * not yet placed on the board
+	 * not yet placed on the board.  Pieces are numbered in that same order, so this is
+	 * just the lowest bit of the remaining pieces
 	 * 
-	 * @return the next Nomino still available to the player
+	 * @return the next Nomino still available to the player, or the monomino if every
+	 *         piece has been placed
 	 */
 	public Nomino getNextNotPlacedPiece() {
-		// The smallest classification of piece for which there is at least one piece left
-		int smallestClass = 1;
-		
-		// Find the smallest classification of piece with at least one piece remaining
-		for(int i = 1; i <= 5; i++) {
-			if(allPlacedByClass(i) == false) {
-				smallestClass = i;
-				break;
-			}
-		}
-		// All pieces with the smallest classification
-		Nomino[] smallest = pieces.get(smallestClass);
-		
-		// The index of the first piece with that classification left
-		int first = 0;
-			
-		// Find the first piece left with the smallest classification of pieces left
-		for(int i = 0; i < smallest.length; i++) {
-			if(smallest[i].isPlaced() == false) {
-				first = i;
-				break;
-			}
-		}
-		
-		return pieces.get(smallestClass)[first];
+		if(remaining == 0) return pieces[1][0];
+		return getPieceById(Integer.numberOfTrailingZeros(remaining));
 	}
 	
 	/**
@@ -287,28 +313,19 @@ public class Player {
 	 * this Player with a given classification
 	 * 
 	 * @param classification the classification of piece to look at
-	 * @return the smallest index of a piece of the given classification yet to be placed
+	 * @return the smallest index of a piece of the given classification yet to be placed,
+	 *         or -1 if every piece of the classification has been placed
 	 * @throws IllegalArgumentException if the classification specified is not in 1-5
 	 */
 	public int getNextNotPlacedPiece(int classification) throws IllegalArgumentException {
 		if(classification < 1 || 5 < classification)
 			throw new IllegalArgumentException("Classification must be in range 1 to 5");
 		
-		// First ensure that there is at least one piece left of the given classification
-		if(allPlacedByClass(classification)) return -1;
+		// The pieces of the classification that are left
+		int left = remaining & PieceCatalog.getClassMask(classification);
+		if(left == 0) return -1;
 		
-		// All the pieces with the specified classification
-		Nomino[] sameSize = pieces.get(classification);
-		
-		// Find the first piece in the array that has not yet been placed
-		int first = 0;
-		for(int i = 0; i < sameSize.length; i++) {
-			if(sameSize[i].isPlaced() == false) {
-				first = i;
-				break;
-			}
-		}
-		return first;
+		return PieceCatalog.getIndex(Integer.numberOfTrailingZeros(left));
 	}
 	
 	/**
@@ -318,30 +335,23 @@ public class Player {
 	 * 
 	 * @param classification the classification of pieces to look at
 	 * @param index          the position in the array to start from
-	 * @return the index of the next piece left of the starting index that is not placed
+	 * @return the index of the next piece left of the starting index that is not placed,
+	 *         or -1 if every piece of the classification has been placed
 	 * @throws IllegalArgumentException if the classification specified is not in 1-5
 	 */
 	public int getNextNotPlacedPieceLeft(int classification, int index) {
 		if(classification < 1 || 5 < classification)
 			throw new IllegalArgumentException("Classification must be in range 1 to 5");
 		
-		// All pieces with the given classification
-		Nomino[] sameSize = pieces.get(classification);
+		// The pieces of the classification that are left
+		int left = remaining & PieceCatalog.getClassMask(classification);
+		if(left == 0) return -1;
 		
-		// Since we are cycling left, we need to set the index back to the end
-		// of the array if it is starting at 0
-		if(index == 0) index = sameSize.length;
+		// The highest piece left below the starting one, or else the highest of all
+		int below = left & ((1 << PieceCatalog.getPieceId(classification, index)) - 1);
+		if(below != 0) left = below;
 		
-		// Subtract 1 from the index to cycle left once
-		index--;
-		
-		// Until we find a Nomino in the array that has not been placed yet, we keep cycling
-		while(sameSize[index].isPlaced()) {
-			if(index == 0) index = sameSize.length;
-			index--;
-		}
-		
-		return index;
+		return PieceCatalog.getIndex(31 - Integer.numberOfLeadingZeros(left));
 	}
 	
 	/**
@@ -351,24 +361,23 @@ public class Player {
 	 * 
 	 * @param classification the classification of pieces to look at
 	 * @param index          the position in the array to start from
-	 * @return the index of the next piece right of the starting index that is not placed
+	 * @return the index of the next piece right of the starting index that is not placed,
+	 *         or -1 if every piece of the classification has been placed
 	 * @throws IllegalArgumentException if the classification specified is not in 1-5
 	 */
 	public int getNextNotPlacedPieceRight(int classification, int index) {
 		if(classification < 1 || 5 < classification)
 			throw new IllegalArgumentException("Classification must be in range 1 to 5");
 		
-		// All pieces with the given classification
-		Nomino[] sameSize = pieces.get(classification);
+		// The pieces of the classification that are left
+		int left = remaining & PieceCatalog.getClassMask(classification);
+		if(left == 0) return -1;
 		
-		// Since we are cycling right, we need only use addition and modulus
-		// to travel through the array
-		index = (index + 1) % sameSize.length;
+		// The lowest piece left above the starting one, or else the lowest of all
+		int above = left & -(2 << PieceCatalog.getPieceId(classification, index));
+		if(above != 0) left = above;
 		
-		// Until we find a Nomino in the array that has not been placed yet, we keep cycling
-		while(sameSize[index].isPlaced()) index = (index + 1) % sameSize.length;
-		
-		return index;
+		return PieceCatalog.getIndex(Integer.numberOfTrailingZeros(left));
 	}
 	
 	/**
@@ -379,51 +388,39 @@ public class Player {
 	 * @return Array of the pieces that this Player has not yet placed
 	 */
 	public Nomino[] getRemainingPiecesAsArray() {
-		// ArrayList of every piece that this Player has not yet placed
-		List<Nomino> remaining = new ArrayList<Nomino>();
-		
-		// Start by getting the next not placed piece
-		Nomino curr = getNextNotPlacedPiece();
-		
-		// The classification and index of curr
-		int currClass = curr.getClassification();
-		int currIndex = curr.getIndex();
-		
-		while(! remaining.contains(curr)) {
-			// Add curr to the list of remaining not placed pieces
-			remaining.add(curr);
-			
-			// The index of the next not placed piece to the "right" of curr
-			int nextRight = getNextNotPlacedPieceRight(currClass, currIndex);
-			
-			// If there are no other pieces of currClass that have yet to be placed,
-			// then we move to next classification up
-			if(nextRight <= currIndex) {
-				// If currClass is already 5, then there are no more pieces to look at, so break
-				if(currClass == 5) break;
-				
-				// Otherwise, increase currClass by 1 and find the next not placed piece
-				currClass++;
-				currIndex = getNextNotPlacedPiece(currClass);
-				curr = pieces.get(currClass)[currIndex];
-				
-			// If instead nextRight > currIndex, we set curr to that piece
-			} else {
-				currIndex = nextRight;
-				curr = pieces.get(currClass)[currIndex];
-			}
-		}
+		Nomino[] left = new Nomino[Integer.bitCount(remaining)];
 		
-		return remaining.toArray(new Nomino[remaining.size()]);
+		// Take the lowest piece left off a copy of the remaining pieces until none are left
+		int i = 0;
+		for(int bits = remaining; bits != 0; bits &= bits - 1) {
+			left[i++] = getPieceById(Integer.numberOfTrailingZeros(bits));
+		}
+		return left;
+	}
+	
+	/**
+	 * Gets the pieces this Player has not yet placed on the Board
+	 * 
+	 * @return the remaining pieces, one bit per piece id
+	 */
+	public int getRemainingMask() {
+		return remaining;
 	}
 	
 	/**
-	 * Getter for the player's pieces map
+	 * Gets the player's pieces by classification, as a map from each classification
+	 * (1-5) to its pieces.  A new HashMap is made on every call from the arrays the
+	 * pieces are kept in, so changing the map changes nothing, but the arrays are the
+	 * player's own.  Code that runs often should use getPiecesByClass or getPieceById
+	 * instead, which allocate nothing
 	 * 
-	 * @return the player's pieces field
+	 * @return a new map from each classification to the array of the player's pieces of
+	 *         that classification
 	 */
 	public Map<Integer, Nomino[]> getPieces() {
-		return pieces;
+		Map<Integer, Nomino[]> byClass = new HashMap<Integer, Nomino[]>();
+		for(int c = 1; c <= PieceCatalog.MAX_CLASSIFICATION; c++) byClass.put(c, pieces[c]);
+		return byClass;
 	}
 	
 	/**
@@ -437,7 +434,7 @@ public class Player {
 		if(classification < 1 || 5 < classification)
 			throw new IllegalArgumentException("Classification must be in range 1 to 5");
 		
-		return pieces.get(classification);
+		return pieces[classification];
 	}
 	
 	/**
@@ -452,7 +449,7 @@ public class Player {
 		if(classification < 1 || 5 < classification)
 			throw new IllegalArgumentException("Classification must be in range 1 to 5");
 		
-		return pieces.get(classification)[index].isPlaced();
+		return (remaining & (1 << PieceCatalog.getPieceId(classification, index))) == 0;
 	}
 	
 	/**
@@ -467,14 +464,7 @@ public class Player {
 		if(classification < 1 || 5 < classification)
 			throw new IllegalArgumentException("Classification must be in range 1 to 5");
 		
-		// All nominos owned by this player with the given classification
-		Nomino[] sameSize = pieces.get(classification);
-
-		// Iterate through sameSize, if any of them have not been placed yet, return false
-		for(Nomino n : sameSize) {
-			if(n.isPlaced() == false) return false;
-		}
-		return true;
+		return (remaining & PieceCatalog.getClassMask(classification)) == 0;
 	}
 	
 	/**
@@ -487,22 +477,102 @@ public class Player {
 	}
 	
 	/**
-	 * Method that takes the index (size*row + col) of a space on the board and adds it
-	 * to the Player's set of occupied spaces
-	 * 
-	 * @param index the index of a Space on the Board (size*row + col)
+	 * Counts a space on the board which this Player has just occupied
 	 */
-	public void occupy(int index) {
-		occupying.add(index);
+	public void occupy() {
+		spacesOccupied++;
+	}
+	
+	/**
+	 * Stops counting a space on the board which this Player has just stopped occupying
+	 */
+	public void unoccupy() {
+		spacesOccupied--;
 	}
 	
 	/**
 	 * Returns the number of spaces occupied by this Player
 	 * 
-	 * @return the size of the occupying field
+	 * @return the number of spaces occupied
 	 */
 	public int getNumberOfSpacesOccupied() {
-		return occupying.size();
+		return spacesOccupied;
+	}
+	
+	/**
+	 * Records that one of this Player's pieces has been placed on the board, counting it
+	 * off the pieces and squares this Player has left
+	 * 
+	 * @param n the piece which was placed
+	 */
+	public void piecePlaced(Nomino n) {
+		if(numPlaced == placedOrder.length) placedOrder = Arrays.copyOf(placedOrder, 2*numPlaced);
+		placedOrder[numPlaced++] = n;
+		if(n.getPieceId() >= 0) remaining &= ~(1 << n.getPieceId());
+		remainingPieces--;
+		squaresRemaining -= n.getClassification();
+	}
+	
+	/**
+	 * Records that one of this Player's pieces has been taken back off the board
+	 * 
+	 * @param n the piece which was removed, which must have been recorded by piecePlaced
+	 * @throws IllegalStateException if the piece was not recorded as placed
+	 */
+	public void pieceRemoved(Nomino n) throws IllegalStateException {
+		// The piece is nearly always the last one placed, when a move is unmade
+		int i = numPlaced - 1;
+		while(i >= 0 && placedOrder[i] != n) i--;
+		if(i < 0) throw new IllegalStateException("The piece was never placed");
+		System.arraycopy(placedOrder, i + 1, placedOrder, i, numPlaced - i - 1);
+		placedOrder[--numPlaced] = null;
+		if(n.getPieceId() >= 0) remaining |= 1 << n.getPieceId();
+		remainingPieces++;
+		squaresRemaining += n.getClassification();
+	}
+	
+	/**
+	 * Forgets every piece recorded as placed, as when the board is set up again
+	 */
+	public void clearPlaced() {
+		Arrays.fill(placedOrder, 0, numPlaced, null);
+		numPlaced = 0;
+		remaining = PieceCatalog.ALL_PIECES;
+		remainingPieces = PieceCatalog.NUM_PIECES;
+		squaresRemaining = TOTAL_SQUARES;
+	}
+	
+	/**
+	 * Gets the piece this Player placed most recently
+	 * 
+	 * @return the last piece placed, or null if no pieces have been placed
+	 */
+	public Nomino getLastPlaced() {
+		return numPlaced == 0 ? null : placedOrder[numPlaced-1];
+	}
+	
+	/**
+	 * Gets the number of squares in the pieces this Player has not placed
+	 * 
+	 * @return the squares remaining
+	 */
+	public int getSquaresRemaining() {
+		return squaresRemaining;
+	}
+	
+	/**
+	 * Works out this Player's score by the official Blokus rules: minus one for each
+	 * square of the pieces left over, or, for placing every piece, a bonus of 15 points,
+	 * and 5 more if the monomino was placed last
+	 * 
+	 * @return this Player's score
+	 */
+	public int getScore() {
+		if(remainingPieces > 0) return -squaresRemaining;
+		
+		Nomino last = getLastPlaced();
+		if(last != null && last.getClassification() == 1) return ALL_PLACED_BONUS + MONOMINO_LAST_BONUS;
+		return ALL_PLACED_BONUS;
 	}
 	
 	/**
@@ -513,6 +583,37 @@ public class Player {
 		hasPassed = true;
 	}
 	
+	/**
+	 * Sets this Player's hasPassed field, so that a pass can be taken back when a move
+	 * is unmade
+	 * 
+	 * @param hasPassed whether this Player's turn will pass every time it comes up
+	 */
+	public void setHasPassed(boolean hasPassed) {
+		this.hasPassed = hasPassed;
+	}
+	
+	/**
+	 * Returns whether this Player is controlled from the keyboard.  The game only shows a
+	 * selected piece and listens to the keys for human players
+	 * 
+	 * @return true for a Player, subclasses controlled some other way return false
+	 */
+	public boolean isHuman() {
+		return true;
+	}
+	
+	/**
+	 * Called by the game loop at the start of each of this Player's turns, before it
+	 * waits for the Player's move.  A human Player's moves are submitted by the
+	 * InputListener, so there is nothing to do here; a Player controlled some other way
+	 * submits its move to the board with Board.submitMove
+	 * 
+	 * @param board the board the game is being played on
+	 */
+	public void takeTurn(Board board) {
+	}
+	
 	/**
 	 * Gets the current value of the hasPassed field
 	 * 
@@ -0,0 +1,397 @@
+package santanjm.blokus;
+
+import santanjm.blokus.*;
+
+/**
+ * A computer player which picks its moves by searching the game tree with the board's
+ * own move generator, making and unmaking moves on a copy of the board it plays on, so
+ * that the game's board and its view see nothing until the move is submitted.  Two
+ * searches are available: max^n, in which every player is assumed to play for itself,
+ * and paranoid, in which every other player is assumed to play against this one, which
+ * allows alpha-beta pruning.  The search deepens one ply at a time until its time runs
+ * out, and plays the best move of the deepest search it finished
+ */
+public class SearchPlayer extends Player {
+	// Search where every player maximizes its own evaluation
+	public static final int MAXN = 0;
+	
+	// Search where every other player minimizes this player's evaluation
+	public static final int PARANOID = 1;
+	
+	// The memory each player's transposition table takes up unless told otherwise, in
+	// megabytes
+	public static final int DEFAULT_TABLE_MEGABYTES = 16;
+	
+	// The number of nodes searched between looks at the clock
+	private static final int CLOCK_INTERVAL = 256;
+	
+	// A score beyond any evaluation
+	private static final int INFINITY = 1 << 29;
+	
+	// Which search to use, MAXN or PARANOID
+	private int mode;
+	
+	// The time allowed to pick each move, in milliseconds
+	private long timeBudget;
+	
+	// The deepest search to try, in plies
+	private int maxDepth;
+	
+	// The most moves searched from any position below the root, largest pieces first, or
+	// 0 to search every move
+	private int breadth;
+	
+	// The search results kept between positions
+	private TranspositionTable table;
+	
+	// The copy of the game's board being searched, made with copyPosition
+	private Board position;
+	
+	// A list of moves for each ply of the search, reused from node to node
+	private MoveList[] plyMoves;
+	
+	// The evaluation of every player at each ply of a max^n search
+	private int[][] plyValues;
+	
+	// The time the current search must stop by, from System.nanoTime
+	private long deadline;
+	
+	// Whether the current search ran out of time
+	private boolean stopped;
+	
+	// The number of positions searched so far in the current search
+	private long nodes;
+	
+	// The best move at the root of the search at the depth being searched
+	private int rootBest;
+	
+	/**
+	 * Constructs a computer player.  Every player keeps its own transposition table, so
+	 * each one takes up about tableMegabytes of memory for as long as it exists
+	 * 
+	 * @param gameBoard      the board on which this player will play the game
+	 * @param pNum           this player's number (used in determining turn order)
+	 * @param mode           MAXN or PARANOID
+	 * @param timeBudget     the time allowed to pick each move, in milliseconds
+	 * @param maxDepth       the deepest search to try, in plies
+	 * @param breadth        the most moves to search from any position below the root,
+	 *                       largest pieces first, or 0 to search every move
+	 * @param tableMegabytes the memory the player's transposition table may take up
+	 * @throws IllegalArgumentException if the mode is unknown or a limit is not positive
+	 */
+	public SearchPlayer(Board gameBoard, int pNum, int mode, long timeBudget, int maxDepth,
+			int breadth, int tableMegabytes) throws IllegalArgumentException {
+		super(gameBoard, pNum);
+		if(mode != MAXN && mode != PARANOID) throw new IllegalArgumentException("Unknown search " + mode);
+		if(timeBudget <= 0 || maxDepth <= 0 || breadth < 0 || tableMegabytes <= 0) {
+			throw new IllegalArgumentException("Search limits must be positive");
+		}
+		
+		this.mode = mode;
+		this.timeBudget = timeBudget;
+		this.maxDepth = maxDepth;
+		this.breadth = breadth;
+		table = new TranspositionTable(tableMegabytes);
+		
+		plyMoves = new MoveList[maxDepth + 1];
+		for(int i = 0; i <= maxDepth; i++) plyMoves[i] = new MoveList();
+	}
+	
+	/**
+	 * Constructs a computer player with a transposition table of DEFAULT_TABLE_MEGABYTES
+	 * 
+	 * @param gameBoard  the board on which this player will play the game
+	 * @param pNum       this player's number (used in determining turn order)
+	 * @param mode       MAXN or PARANOID
+	 * @param timeBudget the time allowed to pick each move, in milliseconds
+	 * @param maxDepth   the deepest search to try, in plies
+	 * @param breadth    the most moves to search from any position below the root,
+	 *                   largest pieces first, or 0 to search every move
+	 */
+	public SearchPlayer(Board gameBoard, int pNum, int mode, long timeBudget, int maxDepth,
+			int breadth) {
+		this(gameBoard, pNum, mode, timeBudget, maxDepth, breadth, DEFAULT_TABLE_MEGABYTES);
+	}
+	
+	/**
+	 * Constructs a computer player with a search which looks at up to 24 moves from
+	 * each position below the root
+	 * 
+	 * @param gameBoard      the board on which this player will play the game
+	 * @param pNum           this player's number (used in determining turn order)
+	 * @param mode           MAXN or PARANOID
+	 * @param timeBudget     the time allowed to pick each move, in milliseconds
+	 * @param tableMegabytes the memory the player's transposition table may take up
+	 */
+	public SearchPlayer(Board gameBoard, int pNum, int mode, long timeBudget, int tableMegabytes) {
+		this(gameBoard, pNum, mode, timeBudget, 8, 24, tableMegabytes);
+	}
+	
+	/**
+	 * Constructs a computer player with a search which looks at up to 24 moves from
+	 * each position below the root, and a transposition table of DEFAULT_TABLE_MEGABYTES
+	 * 
+	 * @param gameBoard  the board on which this player will play the game
+	 * @param pNum       this player's number (used in determining turn order)
+	 * @param mode       MAXN or PARANOID
+	 * @param timeBudget the time allowed to pick each move, in milliseconds
+	 */
+	public SearchPlayer(Board gameBoard, int pNum, int mode, long timeBudget) {
+		this(gameBoard, pNum, mode, timeBudget, DEFAULT_TABLE_MEGABYTES);
+	}
+	
+	@Override
+	public boolean isHuman() {
+		return false;
+	}
+	
+	/**
+	 * Picks a move and submits it to the board
+	 * 
+	 * @param board the board the game is being played on
+	 */
+	@Override
+	public void takeTurn(Board board) {
+		board.submitMove(board.getTurn(), chooseMove(board));
+	}
+	
+	/**
+	 * Picks this player's move on a board where it is this player's turn.  The search
+	 * makes and unmakes moves on a copy of the board, which is left untouched
+	 * 
+	 * @param board the board to pick a move on
+	 * @return the best move found, or Move.PASS if there are no moves
+	 */
+	public int chooseMove(Board board) {
+		plyValues = new int[maxDepth + 1][board.getNumPlayers()];
+		
+		MoveList rootMoves = plyMoves[0];
+		if(getHasPassed()) return Move.PASS;
+		board.generateMoves(this, rootMoves);
+		if(rootMoves.isEmpty()) return Move.PASS;
+		if(rootMoves.size() == 1) return rootMoves.get(0);
+		
+		position = board.copyPosition();
+		deadline = System.nanoTime() + timeBudget * 1000000L;
+		stopped = false;
+		nodes = 0;
+		table.newSearch();
+		
+		// Deepen the search one ply at a time, keeping the best move of the deepest
+		// search that was not cut short
+		int best = rootMoves.get(rootMoves.size() - 1);
+		for(int depth = 1; depth <= maxDepth; depth++) {
+			if(mode == PARANOID) paranoid(depth, 0, -INFINITY, INFINITY);
+			else maxn(depth, 0);
+			
+			if(stopped) break;
+			best = rootBest;
+		}
+		return best;
+	}
+	
+	/**
+	 * Gets the number of positions looked at by the last call to chooseMove
+	 * 
+	 * @return the number of nodes searched
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+	
+	/**
+	 * Searches the position on the board with the paranoid algorithm and alpha-beta
+	 * pruning, scoring positions by this player's evaluation
+	 * 
+	 * @param depth the number of plies left to search
+	 * @param ply   the number of plies from the root
+	 * @param alpha the score this player is already assured of
+	 * @param beta  the score the other players can already hold this player to
+	 * @return the score of the position
+	 */
+	private int paranoid(int depth, int ply, int alpha, int beta) {
+		if(outOfTime()) return 0;
+		if(depth == 0 || position.allPlayersPassed()) return evaluate();
+		
+		long key = position.getHash();
+		int bestMove = Move.PASS;
+		int slot = table.probe(key);
+		if(slot >= 0) {
+			bestMove = table.getMove(slot);
+			if(ply > 0 && table.getDepth(slot) >= depth) {
+				int score = table.getScore(slot);
+				int bound = table.getBound(slot);
+				if(bound == TranspositionTable.EXACT) return score;
+				if(bound == TranspositionTable.LOWER && score >= beta) return score;
+				if(bound == TranspositionTable.UPPER && score <= alpha) return score;
+			}
+		}
+		
+		// This player raises the score, everyone else lowers it
+		boolean maximizing = position.getPlayerToMove().getPlayerNum() == getPlayerNum();
+		int alphaBefore = alpha;
+		int betaBefore = beta;
+		int best = maximizing ? -INFINITY : INFINITY;
+		
+		MoveList moves = orderedMoves(ply, bestMove);
+		int count = searchedCount(ply, moves);
+		for(int i = 0; i < count; i++) {
+			int move = moves.get(i);
+			position.makeMove(move);
+			int score = paranoid(depth - 1, ply + 1, alpha, beta);
+			position.unmakeMove();
+			if(stopped) return 0;
+			
+			if(maximizing ? score > best : score < best) {
+				best = score;
+				bestMove = move;
+				if(ply == 0) rootBest = move;
+			}
+			if(maximizing) alpha = Math.max(alpha, best);
+			else beta = Math.min(beta, best);
+			if(alpha >= beta) break;
+		}
+		
+		int bound = TranspositionTable.EXACT;
+		if(best <= alphaBefore) bound = TranspositionTable.UPPER;
+		else if(best >= betaBefore) bound = TranspositionTable.LOWER;
+		table.store(key, depth, bound, best, bestMove);
+		return best;
+	}
+	
+	/**
+	 * Searches the position on the board with the max^n algorithm, leaving the
+	 * evaluation of every player at the end of the line of play chosen in plyValues[ply]
+	 * 
+	 * @param depth the number of plies left to search
+	 * @param ply   the number of plies from the root
+	 */
+	private void maxn(int depth, int ply) {
+		int[] values = plyValues[ply];
+		if(outOfTime()) return;
+		if(depth == 0 || position.allPlayersPassed()) {
+			evaluate(values);
+			return;
+		}
+		
+		// Max^n scores cannot be bounded, so the table only remembers the best move
+		long key = position.getHash();
+		int bestMove = Move.PASS;
+		int slot = table.probe(key);
+		if(slot >= 0) bestMove = table.getMove(slot);
+		
+		// The player to move picks the line of play that is best for itself
+		int mover = position.getPlayerToMove().getPlayerNum() - 1;
+		int best = -INFINITY;
+		
+		MoveList moves = orderedMoves(ply, bestMove);
+		int count = searchedCount(ply, moves);
+		for(int i = 0; i < count; i++) {
+			int move = moves.get(i);
+			position.makeMove(move);
+			maxn(depth - 1, ply + 1);
+			position.unmakeMove();
+			if(stopped) return;
+			
+			int[] child = plyValues[ply + 1];
+			if(child[mover] > best) {
+				best = child[mover];
+				bestMove = move;
+				System.arraycopy(child, 0, values, 0, values.length);
+				if(ply == 0) rootBest = move;
+			}
+		}
+		table.store(key, depth, TranspositionTable.EXACT, best, bestMove);
+	}
+	
+	/**
+	 * Fills the list of moves for a ply with the moves of the player to move, largest
+	 * pieces first, and the given move (from the table) ahead of them all.  A player
+	 * who has passed, or has no moves, gets a single pass
+	 * 
+	 * @param ply       the number of plies from the root
+	 * @param firstMove the move to try first, if it is in the list
+	 * @return the list of moves for the ply
+	 */
+	private MoveList orderedMoves(int ply, int firstMove) {
+		MoveList moves = plyMoves[ply];
+		if(ply > 0) {
+			Player p = position.getPlayerToMove();
+			if(p.getHasPassed()) moves.clear();
+			else position.generateMoves(p, moves);
+			if(moves.isEmpty()) {
+				moves.add(Move.PASS);
+				return moves;
+			}
+		}
+		
+		// Moves are packed with their piece id highest, and pieces are numbered smallest
+		// first, so sorting and then reversing puts the largest pieces first
+		moves.sort();
+		int[] sorted = moves.toArray();
+		moves.clear();
+		for(int i = sorted.length - 1; i >= 0; i--) moves.add(sorted[i]);
+		
+		if(firstMove != Move.PASS) moves.moveToFront(firstMove);
+		return moves;
+	}
+	
+	/**
+	 * Gets how many of a ply's moves to search
+	 * 
+	 * @param ply   the number of plies from the root
+	 * @param moves the ordered moves of the ply
+	 * @return every move at the root, and no more than breadth below it
+	 */
+	private int searchedCount(int ply, MoveList moves) {
+		if(ply == 0 || breadth == 0) return moves.size();
+		return Math.min(breadth, moves.size());
+	}
+	
+	/**
+	 * Counts a node and checks whether the search has run out of time
+	 * 
+	 * @return true if the search must stop
+	 */
+	private boolean outOfTime() {
+		if(stopped) return true;
+		if(++nodes % CLOCK_INTERVAL == 0 && System.nanoTime() > deadline) stopped = true;
+		return stopped;
+	}
+	
+	/**
+	 * Evaluates the position on the board for this player, as its own value weighed
+	 * against the values of all of the other players together
+	 * 
+	 * @return the paranoid score of the position
+	 */
+	private int evaluate() {
+		int n = position.getNumPlayers();
+		int score = 0;
+		for(int pNum = 1; pNum <= n; pNum++) {
+			if(pNum == getPlayerNum()) score += (n - 1) * value(pNum);
+			else score -= value(pNum);
+		}
+		return score;
+	}
+	
+	/**
+	 * Evaluates the position on the board for every player
+	 * 
+	 * @param values the array to fill with the value of each player, by number - 1
+	 */
+	private void evaluate(int[] values) {
+		for(int pNum = 1; pNum <= values.length; pNum++) values[pNum-1] = value(pNum);
+	}
+	
+	/**
+	 * Values the position on the board for one player: mostly its score, which is what
+	 * wins the game, and then the anchors it still has to play from
+	 * 
+	 * @param pNum the number of a player
+	 * @return the player's value
+	 */
+	private int value(int pNum) {
+		return 8 * position.getPlayerFromNum(pNum).getScore() + position.getBitBoard().getNumAnchors(pNum);
+	}
+}
@@ -0,0 +1,303 @@
+package santanjm.blokus;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import santanjm.blokus.*;
+
+/**
+ * Plays whole games of random legal moves as fast as it can, with nothing displayed or
+ * printed, and measures how many games and moves it gets through each second.  A player
+ * who cannot move passes.  Every game has its own seed, worked out from the simulation's
+ * seed and the game's number, so the same games are played however many threads share
+ * them out.  How often each seat wins is kept as well, to show what moving first is
+ * worth on each size of board
+ */
+public class Simulation {
+	// Spreads the seeds of consecutive games apart
+	private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+	
+	// The number of players in each game
+	private int numPlayers;
+	
+	// The size of the board the games are played on
+	private int size;
+	
+	// The seed the seed of every game is worked out from
+	private long seed;
+	
+	// The number of games played
+	private int games;
+	
+	// The number of pieces placed over all of the games
+	private long moves;
+	
+	// The number of games won from each seat, ties shared between the winners
+	private double[] seatWins;
+	
+	// The total score from each seat
+	private long[] seatScores;
+	
+	// How long the games took to play, in nanoseconds
+	private long elapsed;
+	
+	/**
+	 * Constructs a simulation
+	 * 
+	 * @param numPlayers the number of players in each game
+	 * @param size       the size of the board the games are played on
+	 * @param seed       the seed the random moves are worked out from
+	 * @throws IllegalArgumentException if a board cannot hold that many players or the
+	 *                                  size is not positive
+	 */
+	public Simulation(int numPlayers, int size, long seed) throws IllegalArgumentException {
+		if(numPlayers < 2 || numPlayers > BitBoard.MAX_PLAYERS || size <= 0) {
+			throw new IllegalArgumentException("A simulation needs 2 to " + BitBoard.MAX_PLAYERS
+					+ " players on a board of positive size");
+		}
+		this.numPlayers = numPlayers;
+		this.size = size;
+		this.seed = seed;
+		seatWins = new double[numPlayers];
+		seatScores = new long[numPlayers];
+	}
+	
+	/**
+	 * Plays random games, adding their results to those already played
+	 * 
+	 * @param count   the number of games to play
+	 * @param workers the number of threads to play them on
+	 * @throws IllegalArgumentException if either number is not positive
+	 * @throws InterruptedException     if interrupted while waiting for the threads
+	 * @throws RuntimeException         if a thread failed, in which case no results are
+	 *                                  added
+	 */
+	public void run(final int count, int workers) throws IllegalArgumentException, InterruptedException {
+		if(count <= 0 || workers <= 0) throw new IllegalArgumentException("Simulation sizes must be positive");
+		
+		// The threads take the next game to play from here
+		final int first = games;
+		final AtomicInteger next = new AtomicInteger(0);
+		
+		// Each thread's results, only added to the simulation's once every thread is done
+		final long[] placed = new long[workers];
+		final double[][] wins = new double[workers][numPlayers];
+		final long[][] scores = new long[workers][numPlayers];
+		
+		// The first thing thrown by any of the threads
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		
+		Thread[] threads = new Thread[workers];
+		for(int i = 0; i < workers; i++) {
+			final int w = i;
+			threads[i] = new Thread("simulation-" + i) {
+				public void run() {
+					try {
+						Board board = new Board(numPlayers, size);
+						MoveList list = new MoveList();
+						
+						for(int g = next.getAndIncrement(); g < count; g = next.getAndIncrement()) {
+							placed[w] += playout(board, new Random(seed + (first + g)*SEED_STEP), list);
+							score(board, wins[w], scores[w]);
+							while(board.getNumMovesMade() > 0) board.unmakeMove();
+						}
+					} catch(Throwable t) {
+						failure.compareAndSet(null, t);
+						
+						// Leave no games for the other threads to play
+						next.set(count);
+					}
+				}
+			};
+		}
+		
+		long start = System.nanoTime();
+		for(Thread thread : threads) thread.start();
+		for(Thread thread : threads) thread.join();
+		long time = System.nanoTime() - start;
+		
+		// A thread which failed played none of the games it was counted for
+		Throwable t = failure.get();
+		if(t instanceof RuntimeException) throw (RuntimeException)t;
+		if(t instanceof Error) throw (Error)t;
+		if(t != null) throw new RuntimeException(t);
+		
+		for(int i = 0; i < workers; i++) add(placed[i], wins[i], scores[i]);
+		synchronized(this) {
+			elapsed += time;
+			games += count;
+		}
+	}
+	
+	/**
+	 * Plays random legal moves on a board until every player has passed.  A player who
+	 * has no legal move passes
+	 * 
+	 * @param board  the board to play on, whose moves are made with makeMove
+	 * @param random the source of the random moves
+	 * @param list   a list to generate the moves in
+	 * @return the number of pieces placed
+	 */
+	public static int playout(Board board, Random random, MoveList list) {
+		int placed = 0;
+		while(board.allPlayersPassed() == false) {
+			int move = randomMove(board, random, list);
+			board.makeMove(move);
+			if(move != Move.PASS) placed++;
+		}
+		return placed;
+	}
+	
+	/**
+	 * Picks a random legal move for the player to move.  The move picked depends only on
+	 * the position and the random numbers
+	 * 
+	 * @param board  a board
+	 * @param random the source of the random choice
+	 * @param list   a list to generate the moves in
+	 * @return a move, or Move.PASS if the player to move has passed or cannot move
+	 */
+	public static int randomMove(Board board, Random random, MoveList list) {
+		Player p = board.getPlayerToMove();
+		if(p.getHasPassed()) return Move.PASS;
+		board.generateMoves(p, list);
+		if(list.isEmpty()) return Move.PASS;
+		
+		// The order moves are generated in depends on the order anchors were found in, so
+		// sort them first to pick the same move in the same position every time
+		list.sort();
+		return list.get(random.nextInt(list.size()));
+	}
+	
+	/**
+	 * Adds up the result of a finished game
+	 * 
+	 * @param board  the board the game was played on
+	 * @param wins   the number of games won from each seat, to add to
+	 * @param scores the total score from each seat, to add to
+	 */
+	private void score(Board board, double[] wins, long[] scores) {
+		int best = Integer.MIN_VALUE;
+		int winners = 0;
+		for(int pNum = 1; pNum <= numPlayers; pNum++) {
+			int score = board.getPlayerFromNum(pNum).getScore();
+			scores[pNum-1] += score;
+			if(score > best) {
+				best = score;
+				winners = 0;
+			}
+			if(score == best) winners++;
+		}
+		for(int pNum = 1; pNum <= numPlayers; pNum++) {
+			if(board.getPlayerFromNum(pNum).getScore() == best) wins[pNum-1] += 1.0/winners;
+		}
+	}
+	
+	/**
+	 * Adds one thread's results to the simulation's
+	 * 
+	 * @param placed the number of pieces the thread placed
+	 * @param wins   the number of games the thread saw won from each seat
+	 * @param scores the total score the thread saw from each seat
+	 */
+	private synchronized void add(long placed, double[] wins, long[] scores) {
+		moves += placed;
+		for(int i = 0; i < numPlayers; i++) {
+			seatWins[i] += wins[i];
+			seatScores[i] += scores[i];
+		}
+	}
+	
+	/**
+	 * Gets the number of games played
+	 * 
+	 * @return the number of games
+	 */
+	public synchronized int getGamesPlayed() {
+		return games;
+	}
+	
+	/**
+	 * Gets the number of pieces placed over all of the games played
+	 * 
+	 * @return the number of moves, not counting passes
+	 */
+	public synchronized long getMovesPlayed() {
+		return moves;
+	}
+	
+	/**
+	 * Gets the number of games played each second
+	 * 
+	 * @return games per second
+	 */
+	public synchronized double getGamesPerSecond() {
+		return elapsed == 0 ? 0 : games * 1e9 / elapsed;
+	}
+	
+	/**
+	 * Gets the number of pieces placed each second
+	 * 
+	 * @return moves per second
+	 */
+	public synchronized double getMovesPerSecond() {
+		return elapsed == 0 ? 0 : moves * 1e9 / elapsed;
+	}
+	
+	/**
+	 * Gets the share of the games won from a seat
+	 * 
+	 * @param seat a seat, from 1 for the player who moves first
+	 * @return the share of games won from the seat, from 0 to 1
+	 */
+	public synchronized double getSeatWinRate(int seat) {
+		return games == 0 ? 0 : seatWins[seat-1] / games;
+	}
+	
+	/**
+	 * Gets the average score from a seat
+	 * 
+	 * @param seat a seat, from 1 for the player who moves first
+	 * @return the mean score from the seat
+	 */
+	public synchronized double getMeanScore(int seat) {
+		return games == 0 ? 0 : (double)seatScores[seat-1] / games;
+	}
+	
+	/**
+	 * Describes the results: the speed of play, and each seat's win rate and mean score
+	 * 
+	 * @return the report, one line for the speed and one for each seat
+	 */
+	public synchronized String getReport() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%d games, %d moves in %.3f s: %.1f games/s, %.1f moves/s%n",
+				games, moves, elapsed / 1e9, getGamesPerSecond(), getMovesPerSecond()));
+		for(int seat = 1; seat <= numPlayers; seat++) {
+			report.append(String.format("seat %d wins %.1f%%, scores %.2f points%n",
+					seat, 100*getSeatWinRate(seat), getMeanScore(seat)));
+		}
+		return report.toString();
+	}
+	
+	/**
+	 * Runs a simulation from the command line and prints its report.  The arguments are
+	 * the number of players, the size of the board, the number of games and optionally
+	 * the number of threads (by default one for each processor) and the seed
+	 * 
+	 * @param args numPlayers size games [workers [seed]]
+	 */
+	public static void main(String[] args) {
+		try {
+			int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+			long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+			Simulation s = new Simulation(Integer.parseInt(args[0]), Integer.parseInt(args[1]), seed);
+			s.run(Integer.parseInt(args[2]), workers);
+			System.out.print(s.getReport());
+		} catch(Exception e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -1,56 +1,54 @@
 package santanjm.blokus;
 
-import java.awt.*;
-
 import santanjm.blokus.*;
 
 public class Space {
 	// The column and row of this space on the board
 	private int col, row;
 	
-	// Flag telling whether or not this space is covered by a nomino
-	private boolean occupied = false;
-	
-	// The number of the player whose polynomino is occupying this space
-	private int playerNum;
-	
-	// The panel which will represent this space in GUI
-	SpacePanel panel;
+	// The bitboard holding which player, if any, occupies this space
+	private BitBoard bits;
 	
-	// The Graphics object used by the Space Panel
-	private Graphics panelGraphics;
+	// The number of the player whose piece is hovering over this space, or 0 if none is
+	private int hoveringPlayer = 0;
 	
 	/**
-	 * Construct a new Space with the given column and row
+	 * Construct a new Space with the given column and row, whose occupancy is
+	 * stored in the given bitboard
 	 * 
-	 * @param col the column of this space
-	 * @param row the row of this space
+	 * @param col  the column of this space
+	 * @param row  the row of this space
+	 * @param bits the bitboard of the board this space is on
 	 */
-	public Space(int col, int row) {
+	public Space(int col, int row, BitBoard bits) {
 		this.col = col;
 		this.row = row;
-		panel = new SpacePanel(col, row);
-		panelGraphics = panel.getGraphics();
+		this.bits = bits;
 	}
 	
 	/**
-	 * Tell the panel that a piece is hovering over this space
+	 * Mark this space as having a piece hovering over it
 	 * 
 	 * @param pNum the number of the player who owns the piece hovering over this space
 	 */
 	public void hover(int pNum) {
-		panel.hover(pNum);
-		panelGraphics = panel.getGraphics();
-		panel.update(panelGraphics);
+		hoveringPlayer = pNum;
 	}
 	
 	/**
-	 * Tell the panel that a piece is no longer hovering over it
+	 * Mark this space as no longer having a piece hovering over it
 	 */
 	public void dehover() {
-		panel.dehover();
-		panelGraphics = panel.getGraphics();
-		panel.update(panelGraphics);
+		hoveringPlayer = 0;
+	}
+	
+	/**
+	 * Gets the number of the player whose piece is hovering over this space
+	 * 
+	 * @return the number of the hovering player, or 0 if no piece is hovering here
+	 */
+	public int getHoveringPlayer() {
+		return hoveringPlayer;
 	}
 	
 	/**
@@ -59,29 +57,23 @@ public class Space {
 	 * @param pNum the number of the player who is now occupying this space
 	 */
 	public void occupy(int pNum) {
-		occupied = true;
-		playerNum = pNum;
-		panel.occupy(pNum);
-		panelGraphics = panel.getGraphics();
-		panel.update(panelGraphics);
+		bits.occupy(col, row, pNum);
 	}
 	
 	/**
-	 * Unoccupy the space, setting its occupied flag to false and setting
-	 * its playerNum field to 0
+	 * Unoccupy the space, clearing its bit in the board's bitboard
 	 */
 	public void unoccupy() {
-		occupied = false;
-		playerNum = 0;
+		bits.unoccupy(col, row);
 	}
 	
 	/**
 	 * Gets whether or not this space is currently occupied
 	 * 
-	 * @return current value of the occupied field
+	 * @return true if any player's piece covers this space
 	 */
 	public boolean isOccupied() {
-		return occupied;
+		return bits.isOccupied(col, row);
 	}
 	
 	/**
@@ -90,7 +82,7 @@ public class Space {
 	 * @return the number of the player occupying this space
 	 */
 	public int occupyingPlayer() {
-		return playerNum;
+		return bits.occupyingPlayer(col, row);
 	}
 	
 	/**
@@ -102,6 +94,24 @@ public class Space {
 		return new int[] {col, row};
 	}
 	
+	/**
+	 * Gets the column of this space without allocating
+	 * 
+	 * @return the column of the space
+	 */
+	public int getCol() {
+		return col;
+	}
+	
+	/**
+	 * Gets the row of this space without allocating
+	 * 
+	 * @return the row of the space
+	 */
+	public int getRow() {
+		return row;
+	}
+	
 	/**
 	 * Returns a String represntation of this Space in the following format:
 	 * Space: [col, row]
@@ -110,8 +120,8 @@ public class Space {
 	 */
 	@Override
 	public String toString() {
-		String s = "Space: [" + col + ", " + row + "]\n" + "Occupied: " + occupied;
-		if(occupied) s = s + "\nOccupied By: " + playerNum;
+		String s = "Space: [" + col + ", " + row + "]\n" + "Occupied: " + isOccupied();
+		if(isOccupied()) s = s + "\nOccupied By: " + occupyingPlayer();
 		
 		return s;
 	}
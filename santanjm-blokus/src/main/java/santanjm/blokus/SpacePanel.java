@@ -73,6 +73,23 @@ public class SpacePanel extends JComponent {
 		playerNum = pNum;
 	}
 	
+	/**
+	 * Tells this space that it is no longer occupied
+	 */
+	public void unoccupy() {
+		occupied = false;
+	}
+	
+	/**
+	 * Method that returns a length two array of the coordinates of the space this
+	 * panel displays: [col, row]
+	 * 
+	 * @return array of the coordinates of the space: [col, row]
+	 */
+	public int[] getCoords() {
+		return new int[] {spacex, spacey};
+	}
+	
 	@Override
 	protected void paintComponent(Graphics g) {
 		super.paintComponent(g);
@@ -0,0 +1,495 @@
+package santanjm.blokus;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import santanjm.blokus.*;
+
+/**
+ * Plays computer players against each other without a display.  Every group of entrants
+ * big enough to fill a board plays a number of games, with the seats turned around from
+ * game to game so that each entrant gets its share of moving first.  The games are
+ * played in parallel, each result is written out as soon as its game ends, and the
+ * entrants are rated by Elo as the results come in
+ */
+public class Tournament {
+	// The rating every entrant starts with
+	public static final double INITIAL_RATING = 1500;
+	
+	// The memory the transposition tables of all of the games being played at once may
+	// take up between them, in megabytes
+	public static final int TABLE_BUDGET_MEGABYTES = 256;
+	
+	// How far one game can move a rating
+	private static final double K = 16;
+	
+	// The searches an entrant can use, by the number parseSpec gives them
+	private static final String[] SEARCHES = {"maxn", "paranoid", "mcts"};
+	
+	// The specification of each entrant's player (see createPlayer)
+	private String[] entrants;
+	
+	// The number of players in each game
+	private int numPlayers;
+	
+	// The size of the board the games are played on
+	private int size;
+	
+	// The number of games each group of entrants plays
+	private int gamesPerGroup;
+	
+	// Each entrant's Elo rating
+	private double[] ratings;
+	
+	// The number of games each entrant has played
+	private int[] played;
+	
+	// The number of games each entrant has won, ties shared between the winners
+	private double[] wins;
+	
+	// The number of games won from each seat, ties shared between the winners
+	private double[] seatWins;
+	
+	// The number of games which have finished
+	private int finished;
+	
+	// Where each game's result is written, or null
+	private PrintWriter out;
+	
+	// Whether results are written as JSON lines instead of CSV
+	private boolean json;
+	
+	// The memory each search player's transposition table may take up, in megabytes
+	private int tableMegabytes = SearchPlayer.DEFAULT_TABLE_MEGABYTES;
+	
+	// The number of threads an mcts player searches with when its specification does not
+	// say
+	private int mctsThreads = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * Constructs a tournament
+	 * 
+	 * @param entrants      the specification of each entrant's player (see createPlayer)
+	 * @param numPlayers    the number of players in each game
+	 * @param size          the size of the board the games are played on
+	 * @param gamesPerGroup the number of games each group of entrants plays
+	 * @throws IllegalArgumentException if there are too few entrants to fill a board, an
+	 *                                  entrant is not a computer player, a board cannot
+	 *                                  hold that many players, or a number is not positive
+	 */
+	public Tournament(String[] entrants, int numPlayers, int size, int gamesPerGroup)
+			throws IllegalArgumentException {
+		if(numPlayers < 2 || numPlayers > BitBoard.MAX_PLAYERS || size <= 0 || gamesPerGroup <= 0) {
+			throw new IllegalArgumentException("Tournament sizes must be positive, with 2 to "
+					+ BitBoard.MAX_PLAYERS + " players");
+		}
+		if(entrants.length < numPlayers) {
+			throw new IllegalArgumentException(entrants.length + " entrants cannot fill " + numPlayers + " seats");
+		}
+		
+		// Make sure every entrant can make a player before any games are played
+		for(String entrant : entrants) parseSpec(entrant, 1);
+		
+		this.entrants = entrants.clone();
+		this.numPlayers = numPlayers;
+		this.size = size;
+		this.gamesPerGroup = gamesPerGroup;
+		ratings = new double[entrants.length];
+		Arrays.fill(ratings, INITIAL_RATING);
+		played = new int[entrants.length];
+		wins = new double[entrants.length];
+		seatWins = new double[numPlayers];
+	}
+	
+	/**
+	 * Makes a computer player from its specification, which is the search followed by
+	 * the time it may take for each move in milliseconds, and for mcts optionally the
+	 * number of threads, separated by colons: for example paranoid:200, maxn:500 or
+	 * mcts:1000:4.  A search player gets a transposition table of
+	 * SearchPlayer.DEFAULT_TABLE_MEGABYTES, and an mcts player without a number of threads
+	 * gets one for each processor
+	 * 
+	 * @param spec  the specification of the player
+	 * @param board the board the player will play on
+	 * @param pNum  the player's number
+	 * @return the player
+	 * @throws IllegalArgumentException if the specification is not understood
+	 */
+	public static Player createPlayer(String spec, Board board, int pNum) throws IllegalArgumentException {
+		return createPlayer(spec, board, pNum, SearchPlayer.DEFAULT_TABLE_MEGABYTES,
+				Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Makes a computer player from its specification (see createPlayer above), giving a
+	 * search player a transposition table of the given size and an mcts player without a
+	 * number of threads the given number
+	 * 
+	 * @param spec           the specification of the player
+	 * @param board          the board the player will play on
+	 * @param pNum           the player's number
+	 * @param tableMegabytes the memory a search player's transposition table may take up
+	 * @param mctsThreads    the number of threads an mcts player searches with if its
+	 *                       specification does not say
+	 * @return the player
+	 * @throws IllegalArgumentException if the specification is not understood
+	 */
+	public static Player createPlayer(String spec, Board board, int pNum, int tableMegabytes,
+			int mctsThreads) throws IllegalArgumentException {
+		long[] parsed = parseSpec(spec, mctsThreads);
+		String search = SEARCHES[(int) parsed[0]];
+		long millis = parsed[1];
+		if(search.equals("mcts")) {
+			return new MctsPlayer(board, pNum, MctsPlayer.TREE_PARALLEL, millis, (int) parsed[2],
+					Math.sqrt(2), true);
+		}
+		int mode = search.equals("maxn") ? SearchPlayer.MAXN : SearchPlayer.PARANOID;
+		return new SearchPlayer(board, pNum, mode, millis, tableMegabytes);
+	}
+	
+	/**
+	 * Reads a player's specification (see createPlayer) without making the player, so
+	 * that it can be checked cheaply
+	 * 
+	 * @param spec    the specification of the player
+	 * @param threads the number of threads to search with if the specification does not
+	 *                say
+	 * @return the search, as its index in SEARCHES, the time it may take for each move in
+	 *         milliseconds, and the number of threads it searches with
+	 * @throws IllegalArgumentException if the specification is not understood
+	 */
+	private static long[] parseSpec(String spec, int threads) throws IllegalArgumentException {
+		String[] parts = spec.split(":");
+		int search = Arrays.asList(SEARCHES).indexOf(parts[0]);
+		int most = parts[0].equals("mcts") ? 3 : 2;
+		if(search < 0 || parts.length < 2 || parts.length > most) {
+			throw new IllegalArgumentException("Unknown player " + spec);
+		}
+		
+		long millis;
+		try {
+			millis = Long.parseLong(parts[1]);
+			if(parts.length > 2) threads = Integer.parseInt(parts[2]);
+		} catch(NumberFormatException nfe) {
+			throw new IllegalArgumentException("Unknown player " + spec);
+		}
+		if(millis <= 0 || threads <= 0) throw new IllegalArgumentException("Unknown player " + spec);
+		return new long[] {search, millis, threads};
+	}
+	
+	/**
+	 * Plays every game of the tournament, writing each result to out as its game ends.
+	 * Every search player in the games being played at once gets an equal share of
+	 * TABLE_BUDGET_MEGABYTES for its transposition table, up to
+	 * SearchPlayer.DEFAULT_TABLE_MEGABYTES and no less than a megabyte.  Likewise an mcts
+	 * player without a number of threads gets an equal share of the processors among the
+	 * games being played at once, and at least one thread
+	 * 
+	 * @param threads the number of games to play at once
+	 * @param out     where to write the results, or null
+	 * @param json    true to write the results as JSON lines, false to write them as CSV
+	 * @throws IllegalArgumentException if threads is less than one
+	 * @throws InterruptedException     if interrupted while waiting for the games to end
+	 */
+	public void play(int threads, Writer out, boolean json)
+			throws IllegalArgumentException, InterruptedException {
+		if(threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+		
+		this.out = out == null ? null : new PrintWriter(out);
+		this.json = json;
+		tableMegabytes = Math.max(1, Math.min(SearchPlayer.DEFAULT_TABLE_MEGABYTES,
+				TABLE_BUDGET_MEGABYTES / (threads * numPlayers)));
+		mctsThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / threads);
+		if(this.out != null && json == false) writeCsvHeader();
+		
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<?>> games = new ArrayList<Future<?>>();
+		int gameNum = 0;
+		for(int[] group : getGroups()) {
+			for(int g = 0; g < gamesPerGroup; g++) {
+				// Turn the seats around by one place every game
+				final int[] seating = new int[numPlayers];
+				for(int seat = 0; seat < numPlayers; seat++) seating[seat] = group[(seat + g) % numPlayers];
+				
+				final int game = ++gameNum;
+				games.add(pool.submit(new Runnable() {
+					public void run() {
+						long start = System.nanoTime();
+						int[] scores = playGame(seating);
+						record(game, seating, scores, (System.nanoTime() - start)/1000000L);
+					}
+				}));
+			}
+		}
+		pool.shutdown();
+		
+		try {
+			for(Future<?> game : games) game.get();
+		} catch(ExecutionException ee) {
+			pool.shutdownNow();
+			throw new RuntimeException(ee.getCause());
+		}
+	}
+	
+	/**
+	 * Gets every group of entrants that plays together: each way of choosing numPlayers
+	 * different entrants, in the order of the entrants
+	 * 
+	 * @return the entrant numbers of each group
+	 */
+	public List<int[]> getGroups() {
+		List<int[]> groups = new ArrayList<int[]>();
+		int[] group = new int[numPlayers];
+		for(int i = 0; i < numPlayers; i++) group[i] = i;
+		
+		while(true) {
+			groups.add(group.clone());
+			
+			// Move on to the next combination, advancing the last entrant that can be
+			int i = numPlayers - 1;
+			while(i >= 0 && group[i] == entrants.length - numPlayers + i) i--;
+			if(i < 0) return groups;
+			group[i]++;
+			for(int j = i + 1; j < numPlayers; j++) group[j] = group[j-1] + 1;
+		}
+	}
+	
+	/**
+	 * Plays one game to its end
+	 * 
+	 * @param seating the entrant in each seat
+	 * @return the score of the player in each seat
+	 */
+	private int[] playGame(int[] seating) {
+		Board board = new Board(numPlayers, size);
+		for(int seat = 0; seat < numPlayers; seat++) {
+			board.setPlayer(createPlayer(entrants[seating[seat]], board, seat + 1, tableMegabytes,
+					mctsThreads));
+		}
+		board.playGame();
+		
+		int[] scores = new int[numPlayers];
+		for(int seat = 0; seat < numPlayers; seat++) scores[seat] = board.getPlayerFromNum(seat + 1).getScore();
+		return scores;
+	}
+	
+	/**
+	 * Records the result of a game: updates the ratings and win counts and writes it out
+	 * 
+	 * @param game    the number of the game
+	 * @param seating the entrant in each seat
+	 * @param scores  the score of the player in each seat
+	 * @param millis  how long the game took, in milliseconds
+	 */
+	private synchronized void record(int game, int[] seating, int[] scores, long millis) {
+		int best = Integer.MIN_VALUE;
+		int winners = 0;
+		for(int score : scores) {
+			if(score > best) {
+				best = score;
+				winners = 0;
+			}
+			if(score == best) winners++;
+		}
+		
+		// Each pair of players is rated as if they had played each other
+		double[] change = new double[numPlayers];
+		for(int i = 0; i < numPlayers; i++) {
+			for(int j = 0; j < numPlayers; j++) {
+				if(i == j) continue;
+				double result = scores[i] > scores[j] ? 1 : scores[i] == scores[j] ? 0.5 : 0;
+				double expected = 1/(1 + Math.pow(10, (ratings[seating[j]] - ratings[seating[i]])/400));
+				change[i] += K/(numPlayers - 1) * (result - expected);
+			}
+		}
+		for(int seat = 0; seat < numPlayers; seat++) {
+			int entrant = seating[seat];
+			ratings[entrant] += change[seat];
+			played[entrant]++;
+			if(scores[seat] == best) {
+				wins[entrant] += 1.0/winners;
+				seatWins[seat] += 1.0/winners;
+			}
+		}
+		finished++;
+		
+		if(out != null) {
+			if(json) writeJson(game, seating, scores, best, millis);
+			else writeCsv(game, seating, scores, best, millis);
+			out.flush();
+		}
+	}
+	
+	/**
+	 * Writes the header of the CSV results
+	 */
+	private void writeCsvHeader() {
+		StringBuilder line = new StringBuilder("game");
+		for(int seat = 1; seat <= numPlayers; seat++) line.append(",seat").append(seat);
+		for(int seat = 1; seat <= numPlayers; seat++) line.append(",score").append(seat);
+		line.append(",winners,millis");
+		out.println(line);
+	}
+	
+	/**
+	 * Writes the result of a game as a line of CSV
+	 * 
+	 * @param game    the number of the game
+	 * @param seating the entrant in each seat
+	 * @param scores  the score of the player in each seat
+	 * @param best    the winning score
+	 * @param millis  how long the game took, in milliseconds
+	 */
+	private void writeCsv(int game, int[] seating, int[] scores, int best, long millis) {
+		StringBuilder line = new StringBuilder().append(game);
+		for(int entrant : seating) line.append(',').append(entrants[entrant]);
+		for(int score : scores) line.append(',').append(score);
+		
+		// The seats of the winners, separated by spaces
+		line.append(',');
+		String separator = "";
+		for(int seat = 0; seat < numPlayers; seat++) {
+			if(scores[seat] != best) continue;
+			line.append(separator).append(seat + 1);
+			separator = " ";
+		}
+		line.append(',').append(millis);
+		out.println(line);
+	}
+	
+	/**
+	 * Writes the result of a game as a line of JSON
+	 * 
+	 * @param game    the number of the game
+	 * @param seating the entrant in each seat
+	 * @param scores  the score of the player in each seat
+	 * @param best    the winning score
+	 * @param millis  how long the game took, in milliseconds
+	 */
+	private void writeJson(int game, int[] seating, int[] scores, int best, long millis) {
+		StringBuilder line = new StringBuilder("{\"game\":").append(game).append(",\"seats\":[");
+		for(int seat = 0; seat < numPlayers; seat++) {
+			if(seat > 0) line.append(',');
+			line.append('"').append(entrants[seating[seat]].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+		}
+		line.append("],\"scores\":[");
+		for(int seat = 0; seat < numPlayers; seat++) {
+			if(seat > 0) line.append(',');
+			line.append(scores[seat]);
+		}
+		line.append("],\"winners\":[");
+		String separator = "";
+		for(int seat = 0; seat < numPlayers; seat++) {
+			if(scores[seat] != best) continue;
+			line.append(separator).append(seat + 1);
+			separator = ",";
+		}
+		line.append("],\"millis\":").append(millis).append('}');
+		out.println(line);
+	}
+	
+	/**
+	 * Gets an entrant's Elo rating
+	 * 
+	 * @param entrant the number of an entrant, from 0
+	 * @return the entrant's rating
+	 */
+	public synchronized double getRating(int entrant) {
+		return ratings[entrant];
+	}
+	
+	/**
+	 * Gets the number of games an entrant has played
+	 * 
+	 * @param entrant the number of an entrant, from 0
+	 * @return the number of games played
+	 */
+	public synchronized int getGamesPlayed(int entrant) {
+		return played[entrant];
+	}
+	
+	/**
+	 * Gets the number of games an entrant has won, a tie counting as a share of a win
+	 * 
+	 * @param entrant the number of an entrant, from 0
+	 * @return the number of games won
+	 */
+	public synchronized double getWins(int entrant) {
+		return wins[entrant];
+	}
+	
+	/**
+	 * Gets the share of the finished games won from a seat
+	 * 
+	 * @param seat a seat, from 1 for the player who moves first
+	 * @return the share of games won from the seat, from 0 to 1
+	 */
+	public synchronized double getSeatWinRate(int seat) {
+		return finished == 0 ? 0 : seatWins[seat-1]/finished;
+	}
+	
+	/**
+	 * Gets the number of games which have finished
+	 * 
+	 * @return the number of games finished
+	 */
+	public synchronized int getGamesFinished() {
+		return finished;
+	}
+	
+	/**
+	 * Describes the standings: each entrant's rating and wins, best rated first, and the
+	 * win rate from each seat
+	 * 
+	 * @return the standings, one line for each entrant and seat
+	 */
+	public synchronized String getStandings() {
+		Integer[] order = new Integer[entrants.length];
+		for(int i = 0; i < order.length; i++) order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return Double.compare(ratings[b], ratings[a]);
+			}
+		});
+		
+		StringBuilder standings = new StringBuilder();
+		for(int entrant : order) {
+			standings.append(String.format("%-20s %7.1f  %5.1f/%d%n",
+					entrants[entrant], ratings[entrant], wins[entrant], played[entrant]));
+		}
+		for(int seat = 1; seat <= numPlayers; seat++) {
+			standings.append(String.format("seat %d wins %.1f%%%n", seat, 100*getSeatWinRate(seat)));
+		}
+		return standings.toString();
+	}
+	
+	/**
+	 * Runs a tournament from the command line and prints the standings.  The arguments
+	 * are the number of games each group plays, the number of players in each game, the
+	 * size of the board, the number of games to play at once, the file to write results
+	 * to (as JSON lines if its name ends in .jsonl, otherwise CSV) and then the entrants
+	 * 
+	 * @param args games numPlayers size threads output entrant entrant...
+	 */
+	public static void main(String[] args) {
+		try {
+			if(args.length < 7) {
+				throw new IllegalArgumentException("Usage: Tournament games numPlayers size threads output entrant entrant...");
+			}
+			Tournament t = new Tournament(Arrays.copyOfRange(args, 5, args.length), Integer.parseInt(args[1]),
+					Integer.parseInt(args[2]), Integer.parseInt(args[0]));
+			
+			Writer out = new BufferedWriter(new FileWriter(args[4]));
+			try {
+				t.play(Integer.parseInt(args[3]), out, args[4].endsWith(".jsonl"));
+			} finally {
+				out.close();
+			}
+			System.out.print(t.getStandings());
+		} catch(Exception e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package santanjm.blokus;
+
+import java.util.Arrays;
+
+import santanjm.blokus.*;
+
+/**
+ * A fixed-size table of search results keyed by position hash (see Board.getHash), so
+ * that a search reaching a position it has already searched, by another order of the
+ * same moves, can reuse the result.  Entries are kept in parallel primitive arrays, and
+ * the table is split into buckets of two slots: the first keeps whichever entry was
+ * searched deepest, the second always takes the newest entry that did not replace the
+ * first.  Entries from an earlier search (see newSearch) are replaced before anything else
+ */
+public class TranspositionTable {
+	// The score stored is exact
+	public static final int EXACT = 0;
+	
+	// The score stored is a lower bound on the true score (the search failed high)
+	public static final int LOWER = 1;
+	
+	// The score stored is an upper bound on the true score (the search failed low)
+	public static final int UPPER = 2;
+	
+	// The number of bytes each entry takes up in the table's arrays
+	public static final int BYTES_PER_ENTRY = 20;
+	
+	// Flag in an entry's info marking the slot as in use
+	private static final int USED = 1 << 30;
+	
+	// The full hash of the position in each slot
+	private long[] keys;
+	
+	// The best move found from the position in each slot
+	private int[] moves;
+	
+	// The score of the position in each slot
+	private int[] scores;
+	
+	// The depth searched (bits 0-15), bound type (bits 16-17) and search generation
+	// (bits 18-25) of the entry in each slot, or 0 for an empty slot
+	private int[] info;
+	
+	// The number of buckets minus one, used to pick a bucket from a hash
+	private int mask;
+	
+	// The generation of the current search, wrapping around at 256
+	private int generation = 0;
+	
+	/**
+	 * Constructs an empty table using no more than the given amount of memory for its
+	 * entries.  The number of buckets is rounded down to a power of two
+	 * 
+	 * @param megabytes the memory budget of the table in megabytes
+	 * @throws IllegalArgumentException if the budget is too small to hold a single bucket
+	 */
+	public TranspositionTable(int megabytes) throws IllegalArgumentException {
+		long buckets = ((long) megabytes << 20) / (2*BYTES_PER_ENTRY);
+		if(buckets < 1) throw new IllegalArgumentException("The table needs at least one megabyte");
+		
+		// Keep every array small enough to be indexed by an int
+		buckets = Math.min(Long.highestOneBit(buckets), 1L << 29);
+		mask = (int) buckets - 1;
+		
+		int slots = 2 * (int) buckets;
+		keys = new long[slots];
+		moves = new int[slots];
+		scores = new int[slots];
+		info = new int[slots];
+	}
+	
+	/**
+	 * Gets the number of entries the table can hold
+	 * 
+	 * @return the number of slots in the table
+	 */
+	public int getCapacity() {
+		return keys.length;
+	}
+	
+	/**
+	 * Empties the table
+	 */
+	public void clear() {
+		Arrays.fill(info, 0);
+		generation = 0;
+	}
+	
+	/**
+	 * Starts a new search, so that entries stored before now give way to new ones ahead
+	 * of anything else, while still being found until they are replaced
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & 0xff;
+	}
+	
+	/**
+	 * Looks up a position in the table
+	 * 
+	 * @param key the hash of the position
+	 * @return the slot holding the position, to be read with getDepth, getBound,
+	 *         getScore and getMove, or -1 if the position is not in the table
+	 */
+	public int probe(long key) {
+		int slot = bucket(key);
+		if(info[slot] != 0 && keys[slot] == key) return slot;
+		if(info[slot+1] != 0 && keys[slot+1] == key) return slot+1;
+		return -1;
+	}
+	
+	/**
+	 * Stores the result of searching a position.  The result goes in the bucket's
+	 * depth-preferred slot if that slot holds nothing, was stored by an earlier search
+	 * or was searched no deeper; otherwise it goes in the bucket's always-replace slot,
+	 * unless the depth-preferred slot already holds a deeper result for the same position
+	 * 
+	 * @param key   the hash of the position
+	 * @param depth the depth the position was searched to (0-65535)
+	 * @param bound EXACT, LOWER or UPPER
+	 * @param score the score of the position
+	 * @param move  the best move found from the position, or Move.PASS
+	 */
+	public void store(long key, int depth, int bound, int score, int move) {
+		int slot = bucket(key);
+		int first = info[slot];
+		
+		if(first != 0 && (first >>> 18 & 0xff) == generation && depth < (first & 0xffff)) {
+			// A deeper result for the same position is worth more than this one
+			if(keys[slot] == key) return;
+			slot++;
+		}
+		
+		keys[slot] = key;
+		moves[slot] = move;
+		scores[slot] = score;
+		info[slot] = USED | generation << 18 | bound << 16 | (depth & 0xffff);
+	}
+	
+	/**
+	 * Gets the depth a position in the table was searched to
+	 * 
+	 * @param slot a slot returned by probe
+	 * @return the depth searched
+	 */
+	public int getDepth(int slot) {
+		return info[slot] & 0xffff;
+	}
+	
+	/**
+	 * Gets what kind of bound the score of a position in the table is
+	 * 
+	 * @param slot a slot returned by probe
+	 * @return EXACT, LOWER or UPPER
+	 */
+	public int getBound(int slot) {
+		return info[slot] >>> 16 & 3;
+	}
+	
+	/**
+	 * Gets the score of a position in the table
+	 * 
+	 * @param slot a slot returned by probe
+	 * @return the score stored
+	 */
+	public int getScore(int slot) {
+		return scores[slot];
+	}
+	
+	/**
+	 * Gets the best move found from a position in the table
+	 * 
+	 * @param slot a slot returned by probe
+	 * @return the best move stored
+	 */
+	public int getMove(int slot) {
+		return moves[slot];
+	}
+	
+	/**
+	 * Gets the first slot of the bucket a position belongs in
+	 * 
+	 * @param key the hash of the position
+	 * @return the index of the bucket's depth-preferred slot
+	 */
+	private int bucket(long key) {
+		return 2 * ((int) (key ^ (key >>> 32)) & mask);
+	}
+}
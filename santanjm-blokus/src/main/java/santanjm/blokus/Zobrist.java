@@ -0,0 +1,117 @@
+package santanjm.blokus;
+
+import java.util.Random;
+import java.util.concurrent.*;
+
+import santanjm.blokus.*;
+
+/**
+ * The random keys used to hash board positions (Zobrist hashing).  A position's hash
+ * is the XOR of the keys of everything true about it: which player occupies each
+ * space, which pieces each player has placed, which players have passed and whose
+ * turn it is, so it can be updated with a single XOR whenever one of those changes.
+ * The keys are drawn from a fixed seed, so every board of the same size uses the same
+ * keys and equal positions hash alike across boards and runs.  The keys never change
+ * once drawn, so they are drawn once for each size and shared by every board of it
+ */
+public class Zobrist {
+	// The seed every set of keys is drawn from
+	private static final long SEED = 0x426c6f6b7573L;
+	
+	// The keys drawn so far, by the size of board they are for
+	private static final ConcurrentMap<Integer, Zobrist> BY_SIZE =
+			new ConcurrentHashMap<Integer, Zobrist>();
+	
+	// The key for each player occupying each space, indexed by player number - 1 and
+	// then by the space's bit index in the BitBoard
+	private final long[][] cells;
+	
+	// The key for each player having placed each piece, indexed by player number - 1
+	// and then by piece id
+	private final long[][] pieces;
+	
+	// The key for each player having passed, indexed by player number - 1
+	private final long[] passed;
+	
+	// The key for it being each player's turn, indexed by player number - 1
+	private final long[] toMove;
+	
+	/**
+	 * Gets the keys for a board of the given size, drawing them the first time they are
+	 * asked for.  May be called from any thread
+	 * 
+	 * @param size the dimension(s) of the board
+	 * @return the keys shared by every board of that size
+	 */
+	public static Zobrist forSize(int size) {
+		Zobrist keys = BY_SIZE.get(size);
+		if(keys != null) return keys;
+		
+		// Two threads may draw the same keys at once, but only one set is kept
+		keys = new Zobrist(size);
+		Zobrist drawn = BY_SIZE.putIfAbsent(size, keys);
+		return drawn == null ? keys : drawn;
+	}
+	
+	/**
+	 * Draws the keys for a board of the given size
+	 * 
+	 * @param size the dimension(s) of the board
+	 */
+	private Zobrist(int size) {
+		Random random = new Random(SEED + size);
+		
+		cells = new long[BitBoard.MAX_PLAYERS][size*size];
+		pieces = new long[BitBoard.MAX_PLAYERS][PieceCatalog.NUM_PIECES];
+		passed = new long[BitBoard.MAX_PLAYERS];
+		toMove = new long[BitBoard.MAX_PLAYERS];
+		for(int p = 0; p < BitBoard.MAX_PLAYERS; p++) {
+			for(int b = 0; b < cells[p].length; b++) cells[p][b] = random.nextLong();
+			for(int i = 0; i < pieces[p].length; i++) pieces[p][i] = random.nextLong();
+			passed[p] = random.nextLong();
+			toMove[p] = random.nextLong();
+		}
+	}
+	
+	/**
+	 * Gets the key for a player occupying a space
+	 * 
+	 * @param pNum the number of a player
+	 * @param b    the bit index of the space in the BitBoard
+	 * @return the key
+	 */
+	public long cell(int pNum, int b) {
+		return cells[pNum-1][b];
+	}
+	
+	/**
+	 * Gets the key for a player having placed a piece
+	 * 
+	 * @param pNum  the number of a player
+	 * @param piece the id of the piece
+	 * @return the key
+	 */
+	public long piece(int pNum, int piece) {
+		return pieces[pNum-1][piece];
+	}
+	
+	/**
+	 * Gets the key for a player having passed
+	 * 
+	 * @param pNum the number of a player
+	 * @return the key
+	 */
+	public long passed(int pNum) {
+		return passed[pNum-1];
+	}
+	
+	/**
+	 * Gets the key for it being a player's turn
+	 * 
+	 * @param pNum the number of a player
+	 * @return the key
+	 */
+	public long toMove(int pNum) {
+		return toMove[pNum-1];
+	}
+}
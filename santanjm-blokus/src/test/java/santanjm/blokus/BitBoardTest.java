@@ -0,0 +1,188 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.*;
+import santanjm.blokus.*;
+
+public class BitBoardTest {
+	
+	@Test
+	public void testWords() {
+		// A 20x20 board fits in seven longs
+		assertEquals(7, new BitBoard(20).getWords());
+		assertEquals(1, new BitBoard(7).getWords());
+	}
+	
+	@Test
+	public void testOccupy() {
+		BitBoard bits = new BitBoard(20);
+		
+		assertFalse(bits.isOccupied(3, 3));
+		assertEquals(0, bits.occupyingPlayer(3, 3));
+		
+		bits.occupy(3, 3, 2);
+		assertTrue(bits.isOccupied(3, 3));
+		assertEquals(2, bits.occupyingPlayer(3, 3));
+		
+		// Occupying the same space by another player hands it over
+		bits.occupy(3, 3, 1);
+		assertEquals(1, bits.occupyingPlayer(3, 3));
+		assertFalse(bits.touchesEdge(3, 4, 2));
+		
+		bits.unoccupy(3, 3);
+		assertFalse(bits.isOccupied(3, 3));
+		assertEquals(0, bits.occupyingPlayer(3, 3));
+	}
+	
+	@Test
+	public void testContacts() {
+		BitBoard bits = new BitBoard(20);
+		bits.occupy(10, 10, 1);
+		
+		// The four spaces beside (10, 10)
+		assertTrue(bits.touchesEdge(10, 9, 1));
+		assertTrue(bits.touchesEdge(11, 10, 1));
+		assertTrue(bits.touchesEdge(10, 11, 1));
+		assertTrue(bits.touchesEdge(9, 10, 1));
+		assertFalse(bits.touchesEdge(11, 11, 1));
+		
+		// The four spaces diagonal to (10, 10)
+		assertTrue(bits.touchesCorner(9, 9, 1));
+		assertTrue(bits.touchesCorner(11, 9, 1));
+		assertTrue(bits.touchesCorner(9, 11, 1));
+		assertTrue(bits.touchesCorner(11, 11, 1));
+		assertFalse(bits.touchesCorner(10, 11, 1));
+		
+		// Other players are unaffected apart from the space itself being taken
+		assertFalse(bits.touchesEdge(10, 9, 2));
+		assertTrue(bits.isBlocked(10, 10, 2));
+		assertFalse(bits.isBlocked(10, 9, 2));
+		assertTrue(bits.isBlocked(10, 9, 1));
+	}
+	
+	@Test
+	public void testNoWrapAround() {
+		BitBoard bits = new BitBoard(20);
+		
+		// A space on the right edge must not touch the left edge of the next row
+		bits.occupy(19, 4, 1);
+		assertFalse(bits.touchesEdge(0, 5, 1));
+		assertFalse(bits.touchesCorner(0, 5, 1));
+		assertFalse(bits.touchesCorner(0, 3, 1));
+		
+		// Removing and re-adding rebuilds the contact boards by shifting, which must
+		// not wrap around either
+		bits.occupy(0, 8, 1);
+		bits.unoccupy(19, 4);
+		assertFalse(bits.touchesEdge(19, 7, 1));
+		assertFalse(bits.touchesCorner(19, 7, 1));
+		assertFalse(bits.touchesCorner(19, 9, 1));
+		assertTrue(bits.touchesCorner(1, 9, 1));
+		assertTrue(bits.touchesEdge(0, 7, 1));
+		assertFalse(bits.touchesEdge(19, 5, 1));
+	}
+	
+	@Test
+	public void testRecomputeAcrossWords() {
+		BitBoard bits = new BitBoard(20);
+		
+		// Space (0, 3) is bit 63 and space (1, 3) is bit 64
+		bits.occupy(0, 3, 3);
+		bits.occupy(1, 3, 3);
+		bits.occupy(10, 19, 3);
+		
+		// Unoccupying forces the remaining spaces' contacts to be rebuilt
+		bits.unoccupy(10, 19);
+		assertTrue(bits.touchesEdge(0, 2, 3));
+		assertTrue(bits.touchesEdge(1, 4, 3));
+		assertTrue(bits.touchesEdge(2, 3, 3));
+		assertTrue(bits.touchesCorner(2, 2, 3));
+		assertTrue(bits.touchesCorner(2, 4, 3));
+		assertFalse(bits.touchesEdge(10, 18, 3));
+		assertFalse(bits.touchesCorner(9, 18, 3));
+	}
+	
+	@Test
+	public void testAnchors() {
+		BitBoard bits = new BitBoard(20);
+		
+		// Every player starts with the four corners of the board
+		for(int p = 1; p <= BitBoard.MAX_PLAYERS; p++) assertEquals(4, bits.getNumAnchors(p));
+		
+		// Taking a corner leaves a single anchor diagonal to it, and takes the corner away
+		// from everyone else
+		bits.occupy(0, 0, 1);
+		assertEquals(1, bits.getNumAnchors(1));
+		assertEquals(bits.bit(1, 1), bits.getAnchor(1, 0));
+		assertEquals(3, bits.getNumAnchors(2));
+		assertFalse(bits.isAnchor(0, 0, 2));
+		
+		// A space beside one of the player's own is never an anchor, one diagonal to two is
+		bits.occupy(2, 2, 1);
+		assertFalse(bits.isAnchor(1, 2, 1));
+		assertTrue(bits.isAnchor(3, 3, 1));
+		assertTrue(bits.isAnchor(1, 3, 1));
+		assertTrue(bits.isAnchor(1, 1, 1));
+		
+		// Giving every space back returns the player to the corners of the board
+		bits.unoccupy(2, 2);
+		bits.unoccupy(0, 0);
+		assertEquals(4, bits.getNumAnchors(1));
+		assertEquals(4, bits.getNumAnchors(2));
+		assertTrue(bits.isAnchor(0, 0, 1));
+}
+
+	@Test
+	public void testAnchorsMatchBoard() {
+		BitBoard bits = new BitBoard(13);
+		Random random = new Random(7);
+		
+		// Hand spaces back and forth at random, checking every anchor and contact after
+		// each change against the spaces around it
+		for(int step = 0; step < 2000; step++) {
+			int col = random.nextInt(13);
+			int row = random.nextInt(13);
+			if(random.nextInt(3) == 0) bits.unoccupy(col, row);
+			else bits.occupy(col, row, 1 + random.nextInt(BitBoard.MAX_PLAYERS));
+			
+			for(int p = 1; p <= BitBoard.MAX_PLAYERS; p++) {
+				Set<Integer> anchors = new HashSet<Integer>();
+				for(int i = 0; i < bits.getNumAnchors(p); i++) anchors.add(bits.getAnchor(p, i));
+				assertEquals(bits.getNumAnchors(p), anchors.size());
+				
+				for(int r = 0; r < 13; r++) {
+					for(int c = 0; c < 13; c++) {
+						boolean edge = owns(bits, c, r-1, p) || owns(bits, c+1, r, p) ||
+								owns(bits, c, r+1, p) || owns(bits, c-1, r, p);
+						boolean corner = owns(bits, c-1, r-1, p) || owns(bits, c+1, r-1, p) ||
+								owns(bits, c-1, r+1, p) || owns(bits, c+1, r+1, p);
+						assertEquals(edge, bits.touchesEdge(c, r, p));
+						assertEquals(corner, bits.touchesCorner(c, r, p));
+						assertEquals(bits.isAnchor(c, r, p), anchors.contains(bits.bit(c, r)));
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testZobristShared() {
+		// Bitboards of the same size share one set of keys, bitboards of other sizes do not
+		assertSame(new BitBoard(20).getZobrist(), new BitBoard(20).getZobrist());
+		assertNotSame(new BitBoard(20).getZobrist(), new BitBoard(13).getZobrist());
+	}
+	
+	/**
+	 * Gets whether a player occupies a space, which need not be on the board
+	 * 
+	 * @param bits the bitboard
+	 * @param col  a column
+	 * @param row  a row
+	 * @param pNum the number of a player
+	 * @return true if (col, row) is on the board and occupied by pNum
+	 */
+	private static boolean owns(BitBoard bits, int col, int row, int pNum) {
+		return bits.contains(col, row) && bits.occupyingPlayer(col, row) == pNum;
+	}
+}
@@ -25,6 +25,16 @@ public class BoardTest {
 		assertEquals(legal2.getNumPlayers(), 2);
 	}
 	
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyPlayers() {
+		new Board(BitBoard.MAX_PLAYERS + 1, 20);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoPlayers() {
+		new Board(0);
+	}
+	
 	@Test
 	public void testPlaceDomino() {
 		Board b = new Board(2);
@@ -354,13 +364,678 @@ public class BoardTest {
 													b.getSpace(0, 3)));
 		actual = b.findPossibleMoveSpaces(p1);
 		assertEquals(expected, actual);
+		
+		// Taking the z-shape plus pentomino back off the board leaves p1 where it was
+		b.deplacePiece(p1.getPiece(5, 1));
+		expected = new HashSet<Space>(Arrays.asList(b.getSpace(1, 1)));
+		assertEquals(expected, b.findPossibleMoveSpaces(p1));
+	}
+	
+	@Test
+	public void testGenerateFirstMoves() {
+		Board b = new Board(2);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// The single monomino can only be placed on one of the four corners
+		MoveList moves = b.generateMoves(p1);
+		int monominos = 0;
+		for(int i = 0; i < moves.size(); i++) {
+			if(Move.getPiece(moves.get(i)) == 0) monominos++;
+		}
+		assertEquals(4, monominos);
+		
+		// Every move found agrees with checking each piece one placement at a time
+		assertEquals(legalPlacements(b, p1, true), generatedPlacements(moves));
 	}
-}
 
+	@Test
+	public void testGenerateMoves() {
+		Board b = new Board(4);
+		Player p1 = b.getPlayerFromNum(1);
+		Player p2 = b.getPlayerFromNum(2);
 
+		// Player p1 starts in the top left corner and p2 in the bottom right corner
+		b.placePiece(p1.getPiece(1, 0), 0, 0);
+		b.placePiece(p1.getPiece(5, 1), 2, 2);
+		b.placePiece(p2.getPiece(5, 2), 19, 17);
 
+		// Remember where each of p1's remaining pieces is and how it is turned
+		Nomino lshape = p1.getPiece(4, 4);
+		lshape.rotate();
+		int[] coords = lshape.getCoords();
+		int orientation = lshape.getOrientation();
 
+		// Generating moves does not move, rotate or reflect any piece
+		b.generateMoves(p1);
+		assertArrayEquals(coords, lshape.getCoords());
+		assertEquals(orientation, lshape.getOrientation());
 
+		for(Player p : b.getPlayers()) {
+			MoveList moves = b.generateMoves(p);
+			Set<String> generated = generatedPlacements(moves);
 
+			// No placement is generated twice
+			assertEquals(moves.size(), generated.size());
 
+			// Players p3 and p4 are still on their first move and may only take the
+			// two corners left free
+			boolean first = p.getPlayerNum() > 2;
+			assertEquals(legalPlacements(b, p, first), generated);
+		}
 
+		// A player with every piece placed has no moves
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			Nomino n = p2.getPieceById(piece);
+			n.place();
+			p2.piecePlaced(n);
+		}
+		assertTrue(b.generateMoves(p2).isEmpty());
+	}
+
+	@Test
+	public void testIsLegalMove() {
+		Board b = new Board(4, 14);
+		Random random = new Random(11);
+		MoveList moves = new MoveList();
+		
+		// Every legal move in a unique orientation is a generated move, on the first turn
+		// and later on
+		for(int turn = 0; turn < 24; turn++) {
+			if(turn % 8 == 0) {
+				for(Player p : b.getPlayers()) {
+					MoveList generated = b.generateMoves(p);
+					int legal = 0;
+					for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+						for(int i = 0; i < PieceCatalog.getNumOrientations(piece); i++) {
+							for(int row = 0; row < b.getSize(); row++) {
+								for(int col = 0; col < b.getSize(); col++) {
+									int move = Move.encode(piece, PieceCatalog.getOrientation(piece, i), col, row);
+									if(b.isLegal(p, move) == false) continue;
+									assertTrue(generated.contains(move));
+									legal++;
+								}
+							}
+						}
+					}
+					assertEquals(generated.size(), legal);
+				}
+			}
+			b.makeMove(Simulation.randomMove(b, random, moves));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testIsLegalPass() {
+		Board b = new Board(2);
+		b.isLegal(b.getPlayerFromNum(1), Move.PASS);
+	}
+	
+	@Test
+	public void testIsLegalMalformed() {
+		Board b = new Board(2);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// Ints which are not moves at all are simply not legal
+		assertFalse(b.isLegal(p1, Move.encode(PieceCatalog.NUM_PIECES, 0, 0, 0)));
+		assertFalse(b.isLegal(p1, -2));
+		assertFalse(b.isLegal(p1, Integer.MIN_VALUE));
+		assertTrue(b.isLegal(p1, Move.encode(0, 0, 0, 0)));
+	}
+	
+	@Test
+	public void testMakeUnmakeMove() {
+		Board b = new Board(4);
+		Random random = new Random(11);
+		MoveList moves = new MoveList();
+		
+		// The state of the board after each move of a random game
+		List<String> states = new ArrayList<String>();
+		states.add(state(b));
+		
+		// Play until every player has passed
+		while(b.allPlayersPassed() == false) {
+			Player p = b.getPlayerToMove();
+			b.generateMoves(p, moves);
+			if(p.getHasPassed() || moves.isEmpty()) b.makeMove(Move.PASS);
+			else b.makeMove(moves.get(random.nextInt(moves.size())));
+			states.add(state(b));
+			assertEquals(b.computeHash(), b.getHash());
+		}
+		assertTrue(b.getPlayerFromNum(1).remainingPieces < 21);
+		assertEquals(states.size() - 1, b.getNumMovesMade());
+		assertEquals(b.getTurn(), b.getNumMovesMade());
+		
+		// Unmaking every move walks back through exactly the same states
+		for(int i = states.size() - 2; i >= 0; i--) {
+			b.unmakeMove();
+			assertEquals(states.get(i), state(b));
+		}
+		assertEquals(0, b.getTurn());
+	}
+	
+	@Test
+	public void testBoardListener() {
+		Board b = new Board(2);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// A listener recording every space it is told about
+		final List<Space> changed = new ArrayList<Space>();
+		b.addBoardListener(new BoardListener() {
+			public void spaceChanged(Space s) {
+				changed.add(s);
+			}
+			
+			public void moveRejected(int move) {
+			}
+		});
+		
+		// Placing the domino changes its two spaces, then stops it hovering over them
+		b.placePiece(p1.getPiece(2, 0), 3, 2);
+		assertEquals(4, changed.size());
+		assertEquals(new HashSet<Space>(Arrays.asList(b.getSpace(3, 2), b.getSpace(2, 2))), 
+				new HashSet<Space>(changed));
+		assertEquals(1, b.getSpace(2, 2).occupyingPlayer());
+		assertEquals(0, b.getSpace(2, 2).getHoveringPlayer());
+		
+		// Moves made to look ahead are not reported
+		changed.clear();
+		b.makeMove(Move.encode(0, 0, 0, 0));
+		b.unmakeMove();
+		assertTrue(changed.isEmpty());
+		
+		// Hovering is kept by the spaces themselves
+		b.hoverPiece(p1.getPiece(1, 0), 10, 10);
+		assertEquals(1, b.getSpace(10, 10).getHoveringPlayer());
+		assertEquals(Arrays.asList(b.getSpace(10, 10)), changed);
+	}
+	
+	@Test
+	public void testHoverAndDehover() {
+		Board b = new Board(2);
+		Player p1 = b.getPlayerFromNum(1);
+		Nomino bowl = p1.getPiece(5, 9);
+		
+		// Hovering covers the piece's spaces at the coordinates given
+		b.hoverPiece(bowl, 10, 10);
+		assertEquals(5, countHovered(b));
+		for(Nomino cell : bowl.getCells()) {
+			int[] coords = cell.getCoords();
+			assertEquals(1, b.getSpace(coords[0], coords[1]).getHoveringPlayer());
+		}
+		
+		// Moving and turning the piece the way the keyboard does leaves only its new spaces
+		for(int i = 0; i < 6; i++) {
+			int[] old = bowl.getCoords();
+			if(i % 2 == 0) {
+				b.dehoverPiece(bowl, old[0], old[1]);
+				bowl.rotate();
+			} else {
+				bowl.move(Direction.LEFT);
+				b.dehoverPiece(bowl, old[0], old[1]);
+			}
+			assertEquals(0, countHovered(b));
+			
+			int[] coords = bowl.getCoords();
+			b.hoverPiece(bowl, coords[0], coords[1]);
+			assertEquals(5, countHovered(b));
+		}
+		
+		// A free-form nomino is dehovered by walking its sides instead
+		Nomino copy = bowl.copy();
+		int[] coords = bowl.getCoords();
+		b.dehoverPiece(copy, coords[0], coords[1]);
+		assertEquals(0, countHovered(b));
+	}
+		
+	@Test
+	public void testPlayGame() throws InterruptedException {
+		final Board b = new Board(2);
+		
+		// A listener recording every move the game loop rejects
+		final List<Integer> rejected = new ArrayList<Integer>();
+		b.addBoardListener(new BoardListener() {
+			public void spaceChanged(Space s) {
+			}
+			
+			public void moveRejected(int move) {
+				rejected.add(move);
+			}
+		});
+		
+		// Play the game on another thread, as it waits for moves to be submitted
+		Thread game = new Thread() {
+			public void run() {
+				b.playGame();
+			}
+		};
+		game.start();
+		
+		// Player p1 places its monomino in a corner, sending the move twice by mistake;
+		// the second copy must not be played as p2's move
+		b.submitMove(0, Move.encode(0, 0, 0, 0));
+		b.submitMove(0, Move.encode(0, 0, 0, 0));
+		
+		// Player p2 first sends something that is not a move at all, then a move that is
+		// not legal, then stands its line4 tetromino up in the opposite corner, turned
+		// upside down from the way the generator has it
+		b.submitMove(1, Move.encode(PieceCatalog.NUM_PIECES, 0, 0, 0));
+		b.submitMove(1, Move.encode(0, 0, 10, 10));
+		b.submitMove(1, Move.encode(6, 3, 19, 18));
+		
+		// Then everyone passes
+		b.submitMove(2, Move.PASS);
+		b.submitMove(3, Move.PASS);
+		
+		game.join(10000);
+		assertFalse(game.isAlive());
+		assertTrue(b.allPlayersPassed());
+		assertEquals(1, b.getSpace(0, 0).occupyingPlayer());
+		assertEquals(2, b.getSpace(19, 19).occupyingPlayer());
+		assertEquals(2, b.getSpace(19, 16).occupyingPlayer());
+		assertEquals(4, b.getPlayerFromNum(2).getNumberOfSpacesOccupied());
+		assertEquals(0, b.getSpace(9, 9).getHoveringPlayer());
+		assertEquals(-1, b.getTurnInPlay());
+		
+		// Only the malformed and illegal moves were rejected, the late copy of p1's move
+		// was just ignored
+		assertEquals(Arrays.asList(Move.encode(PieceCatalog.NUM_PIECES, 0, 0, 0), Move.encode(0, 0, 10, 10)),
+				rejected);
+	}
+		
+	@Test
+	public void testHasLegalMove() {
+		Board b = new Board(4, 12);
+		Random random = new Random(3);
+		MoveList moves = new MoveList();
+		
+		// Whether each player can move agrees with the moves generated for them, all game
+		List<String> generated = new ArrayList<String>();
+		while(! b.allPlayersPassed()) {
+			for(Player p : b.getPlayers()) assertEquals(! b.generateMoves(p).isEmpty(), b.hasLegalMove(p));
+			generated.add(allMoves(b));
+			
+			// Pieces proven not to fit are skipped by generateMoves without losing any moves
+			assertEquals(allMoves(b.copyPosition()), generated.get(generated.size() - 1));
+			b.makeMove(Simulation.randomMove(b, random, moves));
+		}
+		for(Player p : b.getPlayers()) assertFalse(b.hasLegalMove(p));
+		
+		// Pieces proven not to fit late in the game fit again once its moves are unmade
+		while(b.getNumMovesMade() > 0) {
+			b.unmakeMove();
+			assertEquals(generated.remove(generated.size() - 1), allMoves(b));
+			for(Player p : b.getPlayers()) assertEquals(! b.generateMoves(p).isEmpty(), b.hasLegalMove(p));
+		}
+		assertTrue(b.hasLegalMove(b.getPlayerFromNum(1)));
+	}
+	
+	/**
+	 * Lists every move of every player on a board
+	 * 
+	 * @param b a board
+	 * @return the moves of each player, sorted
+	 */
+	private static String allMoves(Board b) {
+		StringBuilder all = new StringBuilder();
+		for(Player p : b.getPlayers()) {
+			MoveList moves = b.generateMoves(p);
+			moves.sort();
+			all.append(Arrays.toString(moves.toArray())).append("\n");
+		}
+		return all.toString();
+	}
+	
+	@Test
+	public void testHasLegalMoveManyAnchors() {
+		Board b = new Board(2);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// Spaces of p1's spread across the board, each with four anchors of its own, give
+		// p1 more anchors than regions have been measured for
+		for(int col = 1; col < 20; col += 3) {
+			for(int row = 1; row < 20; row += 3) b.getSpace(col, row).occupy(1);
+		}
+		assertTrue(b.getBitBoard().getNumAnchors(1) > 64);
+		
+		// The monomino is tried first, before any region has been measured
+		assertTrue((p1.getRemainingMask() & 1) != 0);
+		assertTrue(b.hasLegalMove(p1));
+	}
+	
+	@Test
+	public void testOwnMoveOpensRegion() {
+		// Before p1 moves, its only anchor is in a pocket which holds the lshapeLong but
+		// not the line5, so hasLegalMove proves the line5 cannot be placed
+		Board b = pocketPosition();
+		Player p1 = b.getPlayerFromNum(1);
+		assertTrue(b.hasLegalMove(p1));
+		MoveList moves = b.generateMoves(p1);
+		assertEquals(1, moves.size());
+		assertEquals(14, Move.getPiece(moves.get(0)));
+		
+		// Filling the pocket gives p1 an anchor on the free row, where the line5 fits
+		int lshapeLong = moves.get(0);
+		Nomino n = p1.getPieceById(14);
+		n.setOrientation(Move.getOrientation(lshapeLong));
+		b.placePiece(n, Move.getCol(lshapeLong), Move.getRow(lshapeLong));
+		assertTrue(b.hasLegalMove(p1));
+		assertEquals(allMoves(b.copyPosition()), allMoves(b));
+		assertEquals(13, Move.getPiece(b.generateMoves(p1).get(0)));
+		
+		// The same goes for moves made to look ahead, and for unmaking them
+		Board c = pocketPosition();
+		assertTrue(c.hasLegalMove(c.getPlayerFromNum(1)));
+		c.makeMove(lshapeLong);
+		c.makeMove(Move.PASS);
+		assertTrue(c.hasLegalMove(c.getPlayerFromNum(1)));
+		assertEquals(allMoves(c.copyPosition()), allMoves(c));
+		c.unmakeMove();
+		c.unmakeMove();
+		assertTrue(c.hasLegalMove(c.getPlayerFromNum(1)));
+		assertEquals(lshapeLong, c.generateMoves(c.getPlayerFromNum(1)).get(0));
+	}
+	
+	@Test
+	public void testPlayGameAfterOwnMoveOpensRegion() throws InterruptedException {
+		final Board b = pocketPosition();
+		
+		// The lshapeLong fills the pocket, and then the line5 goes on the row it opens up
+		int lshapeLong = b.generateMoves(b.getPlayerFromNum(1)).get(0);
+		Board after = pocketPosition();
+		after.makeMove(lshapeLong);
+		int line5 = after.generateMoves(after.getPlayerFromNum(1)).get(0);
+		
+		Thread game = new Thread() {
+			public void run() {
+				b.playGame();
+			}
+		};
+		game.start();
+		
+		// p2 has passed, so p1 moves on turns 2 and 4 and is not passed in between
+		b.submitMove(2, lshapeLong);
+		b.submitMove(4, line5);
+		game.join(10000);
+		assertFalse(game.isAlive());
+		assertEquals(0, b.getPlayerFromNum(1).remainingPieces);
+		assertEquals(15, b.getPlayerFromNum(1).getScore());
+	}
+	
+	/**
+	 * Sets up an 8 by 8 board for the tests of a player's own move opening up a region,
+	 * with p1 to move, having only the line5 and lshapeLong left.  p1 covers the top left
+	 * corner and everything else is p2's, who has passed, but for an L shaped pocket of 5
+	 * spaces off p1's corner and a row of 5 spaces touching the pocket's foot diagonally:
+	 * <pre>
+	 * 1 2 2 2 2 2 2 2
+	 * 2 . 2 2 2 2 2 2
+	 * 2 . 2 2 2 2 2 2
+	 * 2 . 2 2 2 2 2 2
+	 * 2 . . 2 2 2 2 2
+	 * 2 2 2 . . . . .
+	 * 2 2 2 2 2 2 2 2
+	 * 2 2 2 2 2 2 2 2
+	 * </pre>
+	 * 
+	 * @return the board
+	 */
+	private static Board pocketPosition() {
+		String[] rows = {
+				"12222222",
+				"2.222222",
+				"2.222222",
+				"2.222222",
+				"2..22222",
+				"222.....",
+				"22222222",
+				"22222222"};
+		int size = rows.length;
+		int words = GameState.wordsFor(size);
+		long[] occupied = new long[2*words];
+		for(int row = 0; row < size; row++) {
+			for(int col = 0; col < size; col++) {
+				char c = rows[row].charAt(col);
+				if(c == '.') continue;
+				
+				int b = size*row + col;
+				occupied[(c - '1')*words + (b >>> 6)] |= 1L << b;
+			}
+		}
+		int[] remaining = {1 << 13 | 1 << 14, 0};
+		
+		Board b = new Board(2, size);
+		b.restoreState(new GameState(size, 2, 2, 1 << 1, 0, remaining, occupied));
+		return b;
+	}
+	
+	@Test
+	public void testAutomaticPass() throws InterruptedException {
+		final Board b = new Board(2, 2);
+		Thread game = new Thread() {
+			public void run() {
+				b.playGame();
+			}
+		};
+		game.start();
+		
+		// Once both monominos are down neither player can move, so both are passed on the
+		// next two turns and the game ends by itself
+		b.submitMove(0, Move.encode(0, 0, 0, 0));
+		b.submitMove(1, Move.encode(0, 0, 1, 1));
+		game.join(10000);
+		assertFalse(game.isAlive());
+		assertTrue(b.allPlayersPassed());
+		assertEquals(4, b.getTurn());
+	}
+	
+	@Test
+	public void testCopyPosition() {
+		Board b = new Board(3);
+		b.makeMove(Move.encode(0, 0, 0, 0));
+		b.makeMove(Move.encode(6, 3, 19, 16));
+		b.makeMove(Move.PASS);
+		b.makeMove(Move.encode(1, 0, 1, 1));
+		
+		// The copy is in the same position, with the same player to move
+		Board c = b.copyPosition();
+		assertEquals(state(b), state(c));
+		assertEquals(b.getHash(), c.getHash());
+		assertEquals(c.computeHash(), c.getHash());
+		assertEquals(0, c.getNumMovesMade());
+		assertTrue(c.getPlayerFromNum(3).getHasPassed());
+		assertEquals(19, c.getPlayerFromNum(1).remainingPieces);
+		
+		// Moves made on the copy do not touch the original
+		c.makeMove(Move.encode(3, 0, 17, 13));
+		assertEquals(0, b.getSpace(17, 13).occupyingPlayer());
+		assertEquals(2, c.getSpace(17, 13).occupyingPlayer());
+	}
+	
+	@Test
+	public void testHash() {
+		Board b = new Board(2);
+		Board c = new Board(2);
+		assertEquals(b.getHash(), c.getHash());
+		assertEquals(b.computeHash(), b.getHash());
+		
+		// The same pieces placed in a different order reach the same position
+		b.makeMove(Move.encode(0, 0, 0, 0));
+		b.makeMove(Move.encode(0, 0, 19, 19));
+		b.makeMove(Move.encode(1, 0, 2, 1));
+		b.makeMove(Move.encode(1, 0, 18, 17));
+		
+		c.placePiece(c.getPlayerFromNum(1).getPiece(2, 0), 2, 1);
+		c.placePiece(c.getPlayerFromNum(2).getPiece(2, 0), 18, 17);
+		c.placePiece(c.getPlayerFromNum(1).getPiece(1, 0), 0, 0);
+		c.placePiece(c.getPlayerFromNum(2).getPiece(1, 0), 19, 19);
+		assertEquals(c.computeHash(), c.getHash());
+		
+		// Four turns on b bring it back round to player p1, as on c where no turns were taken
+		assertEquals(b.getHash(), c.getHash());
+		
+		// Whose turn it is and who has passed are part of the position
+		b.makeMove(Move.PASS);
+		assertFalse(b.getHash() == c.getHash());
+		c.makeMove(Move.PASS);
+		assertEquals(b.getHash(), c.getHash());
+		
+		// Taking a piece back off the board takes its keys back out of the hash
+		c.deplacePiece(c.getPlayerFromNum(1).getPiece(2, 0));
+		assertEquals(c.computeHash(), c.getHash());
+	}
+	
+	@Test
+	public void testDeplaceUnplacedPiece() {
+		Board b = new Board(2);
+		Player p2 = b.getPlayerFromNum(2);
+		b.placePiece(p2.getPiece(2, 0), 5, 5);
+		long hash = b.getHash();
+		
+		// p1's domino has never been placed, but lies over the spaces of p2's domino
+		Nomino dom1 = b.getPlayerFromNum(1).getPiece(2, 0);
+		dom1.setCoords(5, 5);
+		b.deplacePiece(dom1);
+		
+		// Nothing on the board has changed
+		assertEquals(hash, b.getHash());
+		assertEquals(0, b.getBitBoard().countOwned(1));
+		assertEquals(2, b.getBitBoard().countOwned(2));
+		assertEquals(2, p2.getNumberOfSpacesOccupied());
+		assertEquals(2, b.getSpace(5, 5).occupyingPlayer());
+	}
+		
+	@Test(expected = IllegalStateException.class)
+	public void testUnmakeWithoutMove() {
+		new Board(2).unmakeMove();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testMakeMovePlacedPiece() {
+		Board b = new Board(2);
+		b.makeMove(Move.encode(0, 0, 0, 0));
+		b.makeMove(Move.PASS);
+		b.makeMove(Move.encode(0, 0, 1, 1));
+	}
+	
+	/**
+	 * Describes everything makeMove changes about a board
+	 * 
+	 * @param b a board
+	 * @return a description which is equal for boards in the same state
+	 */
+	private static String state(Board b) {
+		StringBuilder state = new StringBuilder("turn " + b.getTurn() + " hash " + b.getHash() + "\n");
+		BitBoard bits = b.getBitBoard();
+		for(Player p : b.getPlayers()) {
+			int pNum = p.getPlayerNum();
+			state.append(pNum + ": " + p.remainingPieces + " " + p.getHasPassed() + " " 
+					+ p.getNumberOfSpacesOccupied() + " " + p.getScore());
+			for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+				state.append(p.getPieceById(piece).isPlaced() ? '+' : '-');
+			}
+			
+			Set<Integer> anchors = new TreeSet<Integer>();
+			for(int i = 0; i < bits.getNumAnchors(pNum); i++) anchors.add(bits.getAnchor(pNum, i));
+			state.append(" " + anchors + "\n");
+		}
+		for(int row = 0; row < b.getSize(); row++) {
+			for(int col = 0; col < b.getSize(); col++) {
+				state.append(bits.occupyingPlayer(col, row));
+				for(int pNum = 1; pNum <= b.getNumPlayers(); pNum++) {
+					state.append(bits.touchesEdge(col, row, pNum) ? 'e' : '.');
+					state.append(bits.touchesCorner(col, row, pNum) ? 'c' : '.');
+				}
+			}
+			state.append("\n");
+		}
+		return state.toString();
+	}
+		
+	/**
+	 * Counts the spaces of a board that have a piece hovering over them
+	 * 
+	 * @param b a board
+	 * @return the number of hovered spaces
+	 */
+	private static int countHovered(Board b) {
+		int count = 0;
+		for(int row = 0; row < b.getSize(); row++) {
+			for(int col = 0; col < b.getSize(); col++) {
+				if(b.getSpace(col, row).getHoveringPlayer() != 0) count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Finds every legal placement of a player's remaining pieces by trying each piece in
+	 * each orientation over each space of the board
+	 * 
+	 * @param b     the board
+	 * @param p     the player placing pieces
+	 * @param first whether to use the rules for a player's first piece
+	 * @return every legal placement, as keys made by placement(...)
+	 */
+	private static Set<String> legalPlacements(Board b, Player p, boolean first) {
+		Set<String> legal = new HashSet<String>();
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			Nomino n = p.getPieceById(piece);
+			if(n.isPlaced()) continue;
+			
+			for(int o = 0; o < PieceCatalog.NUM_ORIENTATIONS; o++) {
+				for(int row = 0; row < b.getSize(); row++) {
+					for(int col = 0; col < b.getSize(); col++) {
+						boolean isLegal = first ? b.isLegalFirstTurn(n, col, row) : b.isLegal(n, col, row);
+						if(isLegal == false) continue;
+						
+						// Checking a catalog piece does not move it, so hold it there
+						n.setCoords(col, row);
+						List<Integer> cells = new ArrayList<Integer>();
+						for(Nomino att : n.searchAllUnique(n.walk())) {
+							cells.add(b.getSize()*att.getCoords()[1] + att.getCoords()[0]);
+						}
+						legal.add(placement(piece, cells));
+					}
+				}
+				
+				// Step through all eight orientations of the piece
+				if(o == 3) n.reflect(1);
+				else n.rotate();
+			}
+		}
+		return legal;
+	}
+	
+	/**
+	 * Turns generated moves into the placements they make
+	 * 
+	 * @param moves a list of packed moves on a 20x20 board
+	 * @return the placement made by each move, as keys made by placement(...)
+	 */
+	private static Set<String> generatedPlacements(MoveList moves) {
+		Set<String> generated = new HashSet<String>();
+		for(int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			int[] offsets = PieceCatalog.getOffsets(Move.getPiece(move), Move.getOrientation(move));
+			
+			List<Integer> cells = new ArrayList<Integer>();
+			for(int k = 0; k < offsets.length; k += 2) {
+				cells.add(20*(Move.getRow(move) + offsets[k+1]) + Move.getCol(move) + offsets[k]);
+			}
+			generated.add(placement(Move.getPiece(move), cells));
+		}
+		return generated;
+	}
+	
+	/**
+	 * Makes a key identifying a piece covering a set of spaces
+	 * 
+	 * @param piece the id of the piece
+	 * @param cells the indices of the spaces covered by the piece
+	 * @return a key that is equal for equal placements
+	 */
+	private static String placement(int piece, List<Integer> cells) {
+		Collections.sort(cells);
+		return piece + ":" + cells;
+	}
+}
@@ -0,0 +1,95 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.*;
+import santanjm.blokus.*;
+
+public class GameStateTest {
+	
+	@Test
+	public void testGetState() {
+		Board b = new Board(3);
+		b.makeMove(Move.encode(0, 0, 0, 0));
+		b.makeMove(Move.encode(6, 3, 19, 16));
+		b.makeMove(Move.PASS);
+		
+		GameState state = b.getState();
+		assertEquals(20, state.getSize());
+		assertEquals(3, state.getNumPlayers());
+		assertEquals(3, state.getTurn());
+		assertEquals(1, state.getPlayerToMove());
+		assertEquals(1, state.occupyingPlayer(0, 0));
+		assertEquals(0, state.occupyingPlayer(1, 1));
+		assertTrue(state.isOccupiedBy(2, 19, 16));
+		assertFalse(state.isOccupiedBy(1, 19, 16));
+		assertEquals(4, state.countOwned(2));
+		assertEquals((1 << PieceCatalog.NUM_PIECES) - 2, state.getRemaining(1));
+		assertEquals((1 << PieceCatalog.NUM_PIECES) - 1 - (1 << 6), state.getRemaining(2));
+		assertTrue(state.hasPassed(3));
+		assertFalse(state.hasPassed(1));
+		
+		// The snapshot does not change with the board
+		b.makeMove(Move.encode(1, 0, 1, 1));
+		assertEquals(0, state.occupyingPlayer(1, 1));
+		assertEquals(3, state.getTurn());
+	}
+	
+	@Test
+	public void testEquals() {
+		Board b = new Board(2);
+		Board c = new Board(2);
+		assertEquals(b.getState(), c.getState());
+		assertEquals(b.getState().hashCode(), c.getState().hashCode());
+		
+		b.makeMove(Move.encode(0, 0, 0, 0));
+		assertFalse(b.getState().equals(c.getState()));
+		c.makeMove(Move.encode(0, 0, 0, 0));
+		assertEquals(b.getState(), c.getState());
+		
+		// The same spaces with a different piece left, or a different turn, are different
+		b.makeMove(Move.PASS);
+		c.makeMove(Move.encode(0, 0, 19, 19));
+		c.unmakeMove();
+		assertFalse(b.getState().equals(c.getState()));
+		assertFalse(b.getState().equals(new Board(2, 19).getState()));
+		assertFalse(b.getState().equals(null));
+	}
+	
+	@Test
+	public void testRestoreState() {
+		Board b = new Board(4, 14);
+		Random random = new Random(19);
+		MoveList moves = new MoveList();
+		for(int i = 0; i < 30; i++) b.makeMove(Simulation.randomMove(b, random, moves));
+		GameState middle = b.getState();
+		long hash = b.getHash();
+		while(! b.allPlayersPassed()) b.makeMove(Simulation.randomMove(b, random, moves));
+		
+		// Going back to the middle of the game from its end, or from a new board, gives
+		// the same position, hash and moves
+		Board c = new Board(4, 14);
+		c.restoreState(middle);
+		b.restoreState(middle);
+		assertEquals(middle, b.getState());
+		assertEquals(middle, c.getState());
+		assertEquals(hash, b.getHash());
+		assertEquals(b.computeHash(), b.getHash());
+		assertEquals(0, b.getNumMovesMade());
+		for(int pNum = 1; pNum <= 4; pNum++) {
+			assertEquals(middle.countOwned(pNum), b.getPlayerFromNum(pNum).getNumberOfSpacesOccupied());
+			assertEquals(Integer.bitCount(middle.getRemaining(pNum)), b.getPlayerFromNum(pNum).remainingPieces);
+			
+			MoveList fromB = b.generateMoves(b.getPlayerFromNum(pNum));
+			MoveList fromC = c.generateMoves(c.getPlayerFromNum(pNum));
+			fromB.sort();
+			fromC.sort();
+			assertArrayEquals(fromB.toArray(), fromC.toArray());
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testRestoreDifferentSize() {
+		new Board(2).restoreState(new Board(3).getState());
+	}
+}
@@ -0,0 +1,31 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+import santanjm.blokus.*;
+
+public class InputListenerTest {
+	
+	@Test
+	public void testKeysDroppedBetweenTurns() {
+		Board b = new Board(2);
+		InputListener input = new InputListener(b);
+		
+		// A human player is active, but the game is not waiting on a move, so no piece
+		// has been selected and the keys must not touch the board
+		b.setActivePlayer();
+		assertTrue(b.getActivePlayer().isHuman());
+		assertEquals(-1, b.getTurnInPlay());
+		
+		int[] keys = {KeyEvent.VK_W, KeyEvent.VK_R, KeyEvent.VK_ENTER, KeyEvent.VK_P};
+		for(int key : keys) {
+			input.keyPressed(new KeyEvent(new Canvas(), KeyEvent.KEY_PRESSED, 0L, 0, key,
+					KeyEvent.CHAR_UNDEFINED));
+		}
+		assertNull(b.getSelectedPiece());
+		assertEquals(0, b.getTurn());
+		assertFalse(b.getActivePlayer().getHasPassed());
+	}
+}
@@ -0,0 +1,80 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import santanjm.blokus.*;
+
+public class MctsNodeTest {
+	
+	@Test
+	public void testExpand() {
+		Board b = new Board(2);
+		MctsNode node = new MctsNode(Move.PASS, 0);
+		assertNull(node.getChildren());
+		
+		// The children are the moves of the player to move, made once
+		MctsNode[] children = node.expand(b, new MoveList());
+		assertEquals(b.generateMoves(b.getPlayerToMove()).size(), children.length);
+		assertSame(children, node.expand(b, new MoveList()));
+		assertEquals(1, children[0].mover);
+		
+		// A player who has passed only has a pass
+		b.getPlayerToMove().setHasPassed();
+		MctsNode passed = new MctsNode(Move.PASS, 0);
+		assertEquals(1, passed.expand(b, new MoveList()).length);
+		assertEquals(Move.PASS, passed.getChildren()[0].move);
+	}
+	
+	@Test
+	public void testSelect() {
+		Board b = new Board(2);
+		MctsNode node = new MctsNode(Move.PASS, 0);
+		MctsNode[] children = node.expand(b, new MoveList());
+		
+		// The search starts at the given child, which may be any of them
+		assertSame(children[children.length - 1], node.select(0, children.length - 1));
+		
+		// Unvisited children come first, then the child with the best average reward
+		for(int i = 0; i < children.length; i++) {
+			node.addVisit();
+			MctsNode child = node.select(0, 0);
+			assertEquals(0, child.getVisits());
+			child.addVisit();
+			child.addValue(child == children[5] ? 1.0 : 0.5);
+		}
+		assertSame(children[5], node.select(0, 0));
+		assertEquals(1.0, children[5].getValue(), 1e-9);
+	}
+	
+	@Test
+	public void testConcurrentUpdates() throws InterruptedException {
+		final Board b = new Board(4);
+		final MctsNode node = new MctsNode(Move.PASS, 0);
+		final MctsNode[][] expanded = new MctsNode[8][];
+		
+		// Many threads expand and update the same node at once
+		Thread[] threads = new Thread[expanded.length];
+		for(int i = 0; i < threads.length; i++) {
+			final int t = i;
+			final Board copy = b.copyPosition();
+			threads[i] = new Thread() {
+				public void run() {
+					expanded[t] = node.expand(copy, new MoveList());
+					for(int k = 0; k < 10000; k++) {
+						node.addVisit();
+						node.addValue(0.25);
+					}
+				}
+			};
+		}
+		for(Thread thread : threads) thread.start();
+		for(Thread thread : threads) thread.join();
+		
+		// Only one set of children was ever made, and no update was lost
+		for(MctsNode[] children : expanded) {
+			if(children != null) assertSame(node.getChildren(), children);
+		}
+		assertEquals(80000, node.getVisits());
+		assertEquals(20000.0, node.getValue(), 1e-9);
+	}
+}
@@ -0,0 +1,65 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import santanjm.blokus.*;
+
+public class MctsPlayerTest {
+	
+	@Test
+	public void testChooseMove() {
+		int[] modes = {MctsPlayer.ROOT_PARALLEL, MctsPlayer.TREE_PARALLEL};
+		for(int mode : modes) {
+			Board b = new Board(4);
+			MctsPlayer p1 = new MctsPlayer(b, 1, mode, 200, 2, Math.sqrt(2), mode == MctsPlayer.TREE_PARALLEL);
+			b.setPlayer(p1);
+			assertFalse(p1.isHuman());
+			
+			b.makeMove(Move.encode(0, 0, 0, 0));
+			b.makeMove(Move.encode(0, 0, 19, 0));
+			b.makeMove(Move.encode(0, 0, 19, 19));
+			b.makeMove(Move.encode(0, 0, 0, 19));
+			long hash = b.getHash();
+			
+			// The move picked is legal, and the board searched on is left as it was found
+			int move = p1.chooseMove(b);
+			assertTrue(b.generateMoves(p1).contains(move));
+			assertTrue(p1.getPlayouts() >= 2);
+			assertEquals(hash, b.getHash());
+			assertEquals(4, b.getNumMovesMade());
+		}
+	}
+	
+	@Test
+	public void testPassesWithoutMoves() {
+		Board b = new Board(2);
+		MctsPlayer p1 = new MctsPlayer(b, 1, 100);
+		b.setPlayer(p1);
+		p1.setHasPassed();
+		assertEquals(Move.PASS, p1.chooseMove(b));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadParallelism() {
+		new MctsPlayer(new Board(2), 1, 2, 100, 1, 1.0, true);
+	}
+	
+	@Test
+	public void testBotGame() throws InterruptedException {
+		final Board b = new Board(2, 8);
+		b.setPlayer(new MctsPlayer(b, 1, MctsPlayer.TREE_PARALLEL, 5, 2, 1.0, true));
+		b.setPlayer(new MctsPlayer(b, 2, MctsPlayer.ROOT_PARALLEL, 5, 2, 1.0, false));
+		
+		Thread game = new Thread() {
+			public void run() {
+				b.playGame();
+			}
+		};
+		game.start();
+		game.join(30000);
+		assertFalse(game.isAlive());
+		assertTrue(b.allPlayersPassed());
+		assertTrue(b.getBitBoard().countOwned(1) > 0);
+		assertTrue(b.getBitBoard().countOwned(2) > 0);
+	}
+}
@@ -0,0 +1,81 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.*;
+import santanjm.blokus.*;
+
+public class MoveTest {
+	
+	@Test
+	public void testEncode() {
+		int move = Move.encode(20, 7, 19, 3);
+		assertEquals(20, Move.getPiece(move));
+		assertEquals(7, Move.getOrientation(move));
+		assertEquals(19, Move.getCol(move));
+		assertEquals(3, Move.getRow(move));
+		assertEquals("20/7@[19, 3]", Move.toString(move));
+		
+		// No move can be mistaken for a pass
+		assertTrue(move >= 0);
+		assertEquals("pass", Move.toString(Move.PASS));
+	}
+	
+	@Test
+	public void testIsValid() {
+		assertTrue(Move.isValid(Move.PASS));
+		assertTrue(Move.isValid(Move.encode(0, 0, 0, 0)));
+		assertTrue(Move.isValid(Move.encode(PieceCatalog.NUM_PIECES - 1, 7, 255, 255)));
+		
+		// Pieces past the end of the catalog, and negative ints other than PASS
+		assertFalse(Move.isValid(Move.encode(PieceCatalog.NUM_PIECES, 0, 0, 0)));
+		assertFalse(Move.isValid(-2));
+		assertFalse(Move.isValid(Integer.MIN_VALUE));
+	}
+	
+	@Test
+	public void testCanonical() {
+		assertEquals(Move.PASS, Move.canonical(Move.PASS));
+		
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			for(int o = 0; o < PieceCatalog.NUM_ORIENTATIONS; o++) {
+				int move = Move.encode(piece, o, 10, 10);
+				int canonical = Move.canonical(move);
+				
+				// The canonical move covers the same spaces in the canonical orientation
+				assertEquals(PieceCatalog.getCanonical(piece, o), Move.getOrientation(canonical));
+				assertEquals(spaces(move), spaces(canonical));
+			}
+		}
+	}
+	
+	@Test
+	public void testMoveList() {
+		MoveList moves = new MoveList(1);
+		for(int i = 0; i < 100; i++) moves.add(i);
+		
+		assertEquals(100, moves.size());
+		assertEquals(42, moves.get(42));
+		assertTrue(moves.contains(99));
+		assertEquals(100, moves.toArray().length);
+		
+		moves.clear();
+		assertTrue(moves.isEmpty());
+		assertFalse(moves.contains(0));
+	}
+	
+	/**
+	 * Gets the spaces covered by a move
+	 * 
+	 * @param move a packed move
+	 * @return the coordinates of every space covered, as "col,row"
+	 */
+	private static Set<String> spaces(int move) {
+		int[] offsets = PieceCatalog.getOffsets(Move.getPiece(move), Move.getOrientation(move));
+		Set<String> spaces = new HashSet<String>();
+		for(int k = 0; k < offsets.length; k += 2) {
+			spaces.add((Move.getCol(move) + offsets[k]) + "," + (Move.getRow(move) + offsets[k+1]));
+		}
+		return spaces;
+	}
+}
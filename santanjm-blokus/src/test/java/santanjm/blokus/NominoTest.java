@@ -4,6 +4,8 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import santanjm.blokus.*;
 
@@ -620,6 +622,102 @@ public class NominoTest {
 				squarePlus.walk());
 	}
 	
+	@Test
+	public void testRotateCatalogPiece() {
+		Board b = new Board(2);
+		Player p = b.getPlayerFromNum(1);
+		
+		// The lshape tetromino is tied to its entry in the piece catalog
+		Nomino lshape = p.getPiece(4, 4);
+		Nomino top = lshape.search(RIGHT, TOP);
+		assertEquals(PieceCatalog.getPieceId(4, 4), lshape.getPieceId());
+		assertEquals(0, lshape.getOrientation());
+		
+		// Rotating moves it on to the next orientation, reusing the same nominos
+		lshape.rotate();
+		assertEquals(PieceCatalog.rotate(0), lshape.getOrientation());
+		assertArrayEquals(new Direction[] {TOP, BOTTOM, BOTTOM, RIGHT, LEFT, TOP}, lshape.walk());
+		assertSame(top, lshape.search(BOTTOM, RIGHT));
+		
+		// Reflecting over the y-axis swings the extra nomino round to the left
+		lshape.reflect(1);
+		assertArrayEquals(new Direction[] {TOP, BOTTOM, BOTTOM, LEFT, RIGHT, TOP}, lshape.walk());
+		assertSame(top, lshape.search(BOTTOM, LEFT));
+		
+		// Copies are free-form nominos and are not tied to the catalog
+		assertEquals(-1, lshape.copy().getPieceId());
+	}
+	
+	@Test
+	public void testGetIndex() {
+		Board b = new Board(2);
+		Player p = b.getPlayerFromNum(1);
+		
+		// Every piece knows its own id and index from when it was created
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			Nomino n = p.getPieceById(piece);
+			assertEquals(piece, n.getPieceId());
+			assertEquals(PieceCatalog.getIndex(piece), n.getIndex());
+			assertSame(n, p.getPiece(n.getClassification(), n.getIndex()));
+		}
+		
+		// Turning a piece does not change which piece it is, and copies are no piece at all
+		Nomino bowl = p.getPiece(5, 9);
+		bowl.rotate();
+		bowl.reflect(0);
+		assertEquals(9, bowl.getIndex());
+		assertEquals(-1, bowl.copy().getIndex());
+		assertEquals(-1, new Nomino(p, b).getIndex());
+	}
+	
+	@Test
+	public void testCellCoords() {
+		Board b = new Board(2);
+		Player p = b.getPlayerFromNum(1);
+		
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			Nomino n = p.getPieceById(piece);
+			for(int o = 0; o < PieceCatalog.NUM_ORIENTATIONS; o++) {
+				n.setOrientation(o);
+				assertTrue(n.setCoords(10, 10));
+				
+				// The piece's own nominos, head first, sit at the catalog's offsets
+				Nomino[] cells = n.getCells();
+				int[] offsets = PieceCatalog.getOffsets(piece, o);
+				assertSame(n, cells[0]);
+				for(int k = 0; k < cells.length; k++) {
+					assertArrayEquals(new int[] {10 + offsets[2*k], 10 + offsets[2*k+1]},
+							cells[k].getCoords());
+					assertTrue(n.contains(cells[k]));
+				}
+				
+				// A free-form copy found by walking its sides lands on the same spaces
+				Nomino copy = n.copy();
+				copy.setCoords(10, 10);
+				assertEquals(spaces(cells), spaces(copy.getCells()));
+				assertFalse(n.contains(copy));
+			}
+			n.setOrientation(0);
+		}
+		
+		// A piece hanging off the board still has all of its nominos moved
+		Nomino line5 = p.getPiece(5, 4);
+		assertFalse(line5.setCoords(18, 0));
+		assertTrue(spaces(line5.getCells()).contains("21,0"));
+	}
+	
+	/**
+	 * Gets the spaces covered by some nominos
+	 * 
+	 * @param cells the nominos
+	 * @return the coordinates of each nomino, as "col,row"
+	 */
+	private static Set<String> spaces(Nomino[] cells) {
+		Set<String> spaces = new HashSet<String>();
+		for(Nomino cell : cells) spaces.add(cell.getCoords()[0] + "," + cell.getCoords()[1]);
+		return spaces;
+	}
+	
 	@Test
 	public void testNullSides() {
 		Board b = new Board(2);
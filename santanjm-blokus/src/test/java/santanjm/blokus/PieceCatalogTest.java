@@ -0,0 +1,103 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import santanjm.blokus.*;
+
+public class PieceCatalogTest {
+	
+	@Test
+	public void testPieceIds() {
+		assertEquals(0, PieceCatalog.getPieceId(1, 0));
+		assertEquals(1, PieceCatalog.getPieceId(2, 0));
+		assertEquals(3, PieceCatalog.getPieceId(3, 1));
+		assertEquals(4, PieceCatalog.getPieceId(4, 0));
+		assertEquals(20, PieceCatalog.getPieceId(5, 11));
+		
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			int classification = PieceCatalog.getClassification(piece);
+			assertEquals(piece,
+					PieceCatalog.getPieceId(classification, PieceCatalog.getIndex(piece)));
+		}
+	}
+	
+	@Test
+	public void testClassMasks() {
+		int all = 0;
+		for(int classification = 1; classification <= PieceCatalog.MAX_CLASSIFICATION; classification++) {
+			int mask = PieceCatalog.getClassMask(classification);
+			for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+				assertEquals(PieceCatalog.getClassification(piece) == classification,
+						(mask & (1 << piece)) != 0);
+			}
+			all |= mask;
+		}
+		assertEquals(PieceCatalog.ALL_PIECES, all);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadPieceId() {
+		PieceCatalog.getPieceId(3, 2);
+	}
+	
+	@Test
+	public void testNumOrientations() {
+		// The number of distinct shapes of each piece, in catalog order
+		int[] expected = {1, 2, 4, 2, 1, 4, 2, 4, 8, 8, 8, 8, 4, 2, 8, 8, 1, 4, 4, 4, 4};
+		
+		int total = 0;
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			assertEquals(expected[piece], PieceCatalog.getNumOrientations(piece));
+			total += PieceCatalog.getNumOrientations(piece);
+		}
+		
+		// There are 91 ways to lay down a full set of Blokus pieces
+		assertEquals(91, total);
+	}
+	
+	@Test
+	public void testOffsets() {
+		for(int piece = 0; piece < PieceCatalog.NUM_PIECES; piece++) {
+			for(int o = 0; o < PieceCatalog.NUM_ORIENTATIONS; o++) {
+				int[] offsets = PieceCatalog.getOffsets(piece, o);
+				
+				// The head always comes first and every cell is counted in the mask
+				assertEquals(2*PieceCatalog.getClassification(piece), offsets.length);
+				assertEquals(0, offsets[0]);
+				assertEquals(0, offsets[1]);
+				assertEquals(PieceCatalog.getClassification(piece),
+						Integer.bitCount(PieceCatalog.getMask(piece, o)));
+				
+				// Orientations with the same shape share their canonical orientation
+				int canonical = PieceCatalog.getCanonical(piece, o);
+				assertEquals(PieceCatalog.getMask(piece, o), PieceCatalog.getMask(piece, canonical));
+			}
+		}
+	}
+	
+	@Test
+	public void testRotateAndReflect() {
+		for(int o = 0; o < PieceCatalog.NUM_ORIENTATIONS; o++) {
+			// Four rotations or two reflections bring a piece back to where it started
+			int rotated = o;
+			for(int i = 0; i < 4; i++) rotated = PieceCatalog.rotate(rotated);
+			assertEquals(o, rotated);
+			assertEquals(o, PieceCatalog.reflect(PieceCatalog.reflect(o, 0), 0));
+			assertEquals(o, PieceCatalog.reflect(PieceCatalog.reflect(o, 1), 1));
+			
+			// Reflecting over both axes is the same as rotating 180 degrees
+			assertEquals(PieceCatalog.rotate(PieceCatalog.rotate(o)),
+					PieceCatalog.reflect(PieceCatalog.reflect(o, 0), 1));
+		}
+		
+		// The lshape tetromino, rotated once, has its extra nomino below its right
+		int lshape = PieceCatalog.getPieceId(4, 4);
+		int[] offsets = PieceCatalog.getOffsets(lshape, PieceCatalog.rotate(0));
+		assertArrayEquals(new int[] {0, 0, 0, -1, 0, 1, 1, 1}, offsets);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadReflect() {
+		PieceCatalog.reflect(0, 2);
+	}
+}
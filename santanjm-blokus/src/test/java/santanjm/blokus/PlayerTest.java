@@ -2,6 +2,7 @@ package santanjm.blokus;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
+import java.util.*;
 import santanjm.blokus.*;
 
 public class PlayerTest {
@@ -95,6 +96,19 @@ public class PlayerTest {
 		assertTrue(p1.getRemainingPiecesAsArray().length == 20);
 	}
 	
+	@Test
+	public void testGetPieces() {
+		Player p1 = new Board(2).getPlayerFromNum(1);
+		Map<Integer, Nomino[]> pieces = p1.getPieces();
+		
+		// Every classification maps to the player's own pieces of it
+		assertEquals(PieceCatalog.MAX_CLASSIFICATION, pieces.size());
+		for(int c = 1; c <= PieceCatalog.MAX_CLASSIFICATION; c++) {
+			assertSame(p1.getPiecesByClass(c), pieces.get(c));
+		}
+		assertEquals(12, pieces.get(5).length);
+	}
+	
 	@Test
 	public void testPieceIsPlaced() {
 		Board b = new Board(2);
@@ -113,6 +127,113 @@ public class PlayerTest {
 		assertTrue(p1.pieceIsPlaced(1, 0));
 	}
 	
+	@Test
+	public void testScore() {
+		Board b = new Board(2, 25);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// Nothing has been placed, so every square counts against the player
+		assertEquals(-89, p1.getScore());
+		assertEquals(89, p1.getSquaresRemaining());
+		
+		// Place every piece but the monomino, each in its own part of the board
+		for(int piece = 1; piece < PieceCatalog.NUM_PIECES; piece++) placeApart(b, p1, piece);
+		assertEquals(-1, p1.getScore());
+		assertEquals(88, p1.getNumberOfSpacesOccupied());
+		
+		// Placing the monomino last earns both bonuses
+		placeApart(b, p1, 0);
+		assertEquals(20, p1.getScore());
+		assertEquals(89, p1.getNumberOfSpacesOccupied());
+		
+		// The bonuses survive taking a snapshot of the board and setting it up again
+		GameState state = b.getState();
+		assertTrue(state.isMonominoLast(1));
+		Board c = new Board(2, 25);
+		c.restoreState(state);
+		assertEquals(20, c.getPlayerFromNum(1).getScore());
+		assertEquals(89, c.getPlayerFromNum(1).getNumberOfSpacesOccupied());
+		
+		// Without the monomino placed last, only the bonus for placing every piece is left
+		Nomino line5 = p1.getPiece(5, PieceCatalog.getIndex(13));
+		b.deplacePiece(line5);
+		assertEquals(-5, p1.getScore());
+		assertEquals(84, p1.getNumberOfSpacesOccupied());
+		placeApart(b, p1, 13);
+		assertEquals(15, p1.getScore());
+		assertFalse(b.getState().isMonominoLast(1));
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testRemoveUnplacedPiece() {
+		Board b = new Board(2);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// Only the monomino has been placed, so the domino cannot be taken back off
+		b.placePiece(p1.getPiece(1, 0), 0, 0);
+		p1.pieceRemoved(p1.getPiece(2, 0));
+	}
+	
+	@Test
+	public void testNextNotPlacedPiece() {
+		Board b = new Board(2, 25);
+		Player p1 = b.getPlayerFromNum(1);
+		
+		// With every piece left, the monomino comes first
+		assertSame(p1.getPiece(1, 0), p1.getNextNotPlacedPiece());
+		assertEquals(PieceCatalog.ALL_PIECES, p1.getRemainingMask());
+		
+		// Placing the three smallest pieces leaves the line3 first
+		placeApart(b, p1, 0);
+		placeApart(b, p1, 1);
+		placeApart(b, p1, 2);
+		assertSame(p1.getPiece(3, 1), p1.getNextNotPlacedPiece());
+		assertTrue(p1.allPlacedByClass(2));
+		assertFalse(p1.allPlacedByClass(3));
+		assertEquals(-1, p1.getNextNotPlacedPiece(1));
+		assertEquals(1, p1.getNextNotPlacedPiece(3));
+		
+		// Cycling through the tetrominos skips the placed zshape and line4, and wraps
+		placeApart(b, p1, PieceCatalog.getPieceId(4, 1));
+		placeApart(b, p1, PieceCatalog.getPieceId(4, 2));
+		assertEquals(3, p1.getNextNotPlacedPieceRight(4, 0));
+		assertEquals(0, p1.getNextNotPlacedPieceRight(4, 4));
+		assertEquals(0, p1.getNextNotPlacedPieceLeft(4, 3));
+		assertEquals(4, p1.getNextNotPlacedPieceLeft(4, 0));
+		
+		// Only one piece of a class left is its own neighbour, and none left gives -1
+		assertEquals(1, p1.getNextNotPlacedPieceRight(3, 1));
+		assertEquals(1, p1.getNextNotPlacedPieceLeft(3, 1));
+		assertEquals(-1, p1.getNextNotPlacedPieceRight(2, 0));
+		
+		// The remaining pieces come out in order of id
+		Nomino[] remaining = p1.getRemainingPiecesAsArray();
+		assertEquals(16, remaining.length);
+		assertSame(p1.getPiece(3, 1), remaining[0]);
+		assertSame(p1.getPiece(4, 0), remaining[1]);
+		assertSame(p1.getPiece(4, 3), remaining[2]);
+		assertSame(p1.getPiece(5, 11), remaining[15]);
+		
+		// Taking a piece back puts it back in the inventory
+		b.deplacePiece(p1.getPiece(1, 0));
+		assertSame(p1.getPiece(1, 0), p1.getNextNotPlacedPiece());
+		assertFalse(p1.pieceIsPlaced(1, 0));
+		assertEquals(17, Integer.bitCount(p1.getRemainingMask()));
+	}
+	
+	/**
+	 * Places one of a player's pieces, in its starting orientation, in its own five by five
+	 * block of a board at least 25 spaces across, where it touches no other piece
+	 * 
+	 * @param b     the board
+	 * @param p     the player whose piece to place
+	 * @param piece the id of the piece
+	 */
+	private static void placeApart(Board b, Player p, int piece) {
+		Nomino n = p.getPiece(PieceCatalog.getClassification(piece), PieceCatalog.getIndex(piece));
+		b.placePiece(n, 5*(piece % 5) + 1, 5*(piece / 5) + 2);
+	}
+	
 }
 
 
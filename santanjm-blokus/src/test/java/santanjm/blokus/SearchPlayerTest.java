@@ -0,0 +1,98 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import santanjm.blokus.*;
+
+public class SearchPlayerTest {
+	
+	@Test
+	public void testChooseMove() throws InterruptedException {
+		int[] modes = {SearchPlayer.MAXN, SearchPlayer.PARANOID};
+		for(int mode : modes) {
+			Board b = new Board(3);
+			SearchPlayer p1 = new SearchPlayer(b, 1, mode, 200, 3, 8);
+			b.setPlayer(p1);
+			assertSame(p1, b.getPlayerFromNum(1));
+			assertFalse(p1.isHuman());
+			
+			// Play a few moves in so the players have something to search
+			b.makeMove(Move.encode(0, 0, 0, 0));
+			b.makeMove(Move.encode(0, 0, 19, 0));
+			b.makeMove(Move.encode(0, 0, 19, 19));
+			final long hash = b.getHash();
+			int made = b.getNumMovesMade();
+			
+			// Watch the board for as long as the search runs, in case it is ever moved on
+			final Board watched = b;
+			final AtomicBoolean searching = new AtomicBoolean(true);
+			final AtomicBoolean moved = new AtomicBoolean(false);
+			Thread watcher = new Thread() {
+				public void run() {
+					while(searching.get()) {
+						if(watched.getHash() != hash) moved.set(true);
+					}
+				}
+			};
+			watcher.start();
+			
+			// The move picked is legal, and the board is left as it was found, without
+			// ever being moved on by the search
+			int move = p1.chooseMove(b);
+			searching.set(false);
+			watcher.join();
+			assertFalse(moved.get());
+			assertTrue(b.generateMoves(p1).contains(move));
+			assertTrue(p1.getNodes() > 0);
+			assertEquals(hash, b.getHash());
+			assertEquals(made, b.getNumMovesMade());
+			assertEquals(1, b.getBitBoard().countOwned(1));
+		}
+	}
+	
+	@Test
+	public void testPassesWithoutMoves() {
+		Board b = new Board(2);
+		SearchPlayer p1 = new SearchPlayer(b, 1, SearchPlayer.PARANOID, 100);
+		b.setPlayer(p1);
+		p1.setHasPassed();
+		assertEquals(Move.PASS, p1.chooseMove(b));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadMode() {
+		new SearchPlayer(new Board(2), 1, 2, 100);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadTableSize() {
+		new SearchPlayer(new Board(2), 1, SearchPlayer.PARANOID, 100, 0);
+	}
+	
+	@Test
+	public void testBotGame() throws InterruptedException {
+		final Board b = new Board(3, 8);
+		b.setPlayer(new SearchPlayer(b, 1, SearchPlayer.MAXN, 5));
+		b.setPlayer(new SearchPlayer(b, 2, SearchPlayer.PARANOID, 5, 1));
+		b.setPlayer(new SearchPlayer(b, 3, SearchPlayer.PARANOID, 5, 2, 4));
+		
+		// The computer players play the whole game between themselves
+		Thread game = new Thread() {
+			public void run() {
+				b.playGame();
+			}
+		};
+		game.start();
+		game.join(30000);
+		assertFalse(game.isAlive());
+		assertTrue(b.allPlayersPassed());
+		
+		int occupied = 0;
+		for(int pNum = 1; pNum <= 3; pNum++) {
+			assertTrue(b.getBitBoard().countOwned(pNum) > 0);
+			occupied += b.getPlayerFromNum(pNum).getNumberOfSpacesOccupied();
+		}
+		assertTrue(occupied <= 64);
+	}
+}
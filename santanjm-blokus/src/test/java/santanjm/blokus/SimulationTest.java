@@ -0,0 +1,63 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.*;
+import santanjm.blokus.*;
+
+public class SimulationTest {
+	
+	@Test
+	public void testPlayout() {
+		Board b = new Board(2, 10);
+		int placed = Simulation.playout(b, new Random(7), new MoveList());
+		
+		// Every player passes at the end, having placed the pieces counted
+		assertTrue(b.allPlayersPassed());
+		int remaining = b.getPlayerFromNum(1).remainingPieces + b.getPlayerFromNum(2).remainingPieces;
+		assertEquals(2*PieceCatalog.NUM_PIECES - remaining, placed);
+		assertTrue(b.generateMoves(b.getPlayerFromNum(1)).isEmpty()
+				|| b.getPlayerFromNum(1).remainingPieces == 0);
+	}
+	
+	@Test
+	public void testRun() throws InterruptedException {
+		Simulation s = new Simulation(4, 14, 42L);
+		s.run(12, 3);
+		assertEquals(12, s.getGamesPlayed());
+		assertTrue(s.getMovesPlayed() >= 12*4);
+		assertTrue(s.getGamesPerSecond() > 0);
+		assertTrue(s.getMovesPerSecond() > s.getGamesPerSecond());
+		
+		double rates = 0;
+		for(int seat = 1; seat <= 4; seat++) rates += s.getSeatWinRate(seat);
+		assertEquals(1, rates, 1e-9);
+		assertTrue(s.getReport().contains("games/s"));
+	}
+	
+	@Test
+	public void testSeedIsReproducible() throws InterruptedException {
+		// The same games are played however many threads play them
+		Simulation one = new Simulation(3, 12, 5L);
+		one.run(9, 1);
+		Simulation many = new Simulation(3, 12, 5L);
+		many.run(4, 4);
+		many.run(5, 2);
+		
+		assertEquals(one.getMovesPlayed(), many.getMovesPlayed());
+		for(int seat = 1; seat <= 3; seat++) {
+			assertEquals(one.getMeanScore(seat), many.getMeanScore(seat), 1e-9);
+			assertEquals(one.getSeatWinRate(seat), many.getSeatWinRate(seat), 1e-9);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoWorkers() throws InterruptedException {
+		new Simulation(2, 10, 1L).run(1, 0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyPlayers() {
+		new Simulation(5, 20, 1L);
+	}
+}
@@ -0,0 +1,101 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.*;
+import santanjm.blokus.*;
+
+public class TournamentTest {
+	
+	@Test
+	public void testGroups() {
+		String[] entrants = {"paranoid:5", "maxn:5", "mcts:5:1", "paranoid:10"};
+		assertEquals(6, new Tournament(entrants, 2, 8, 1).getGroups().size());
+		assertEquals(4, new Tournament(entrants, 3, 8, 1).getGroups().size());
+		assertArrayEquals(new int[] {1, 2, 3}, new Tournament(entrants, 3, 8, 1).getGroups().get(3));
+		assertEquals(1, new Tournament(entrants, 4, 8, 1).getGroups().size());
+	}
+	
+	@Test
+	public void testCreatePlayer() {
+		Board b = new Board(2);
+		assertTrue(Tournament.createPlayer("paranoid:100", b, 1) instanceof SearchPlayer);
+		assertTrue(Tournament.createPlayer("maxn:100", b, 1) instanceof SearchPlayer);
+		assertTrue(Tournament.createPlayer("mcts:100:2", b, 2) instanceof MctsPlayer);
+		assertEquals(2, Tournament.createPlayer("mcts:100", b, 2).getPlayerNum());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadEntrant() {
+		new Tournament(new String[] {"paranoid:5", "human"}, 2, 8, 1);
+	}
+	
+	@Test
+	public void testBadSpecs() {
+		// Specifications that are malformed, or that no player could be made from
+		String[] specs = {"paranoid", "paranoid:x", "paranoid:100:2", "maxn:0", "mcts:100:0",
+				"mcts:100:2:2", "mcts:-5"};
+		for(String spec : specs) {
+			try {
+				new Tournament(new String[] {"paranoid:5", spec}, 2, 8, 1);
+				fail(spec);
+			} catch(IllegalArgumentException iae) {
+			}
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooFewEntrants() {
+		new Tournament(new String[] {"paranoid:5", "maxn:5"}, 3, 8, 1);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyPlayers() {
+		String[] entrants = {"paranoid:5", "maxn:5", "paranoid:10", "maxn:10", "paranoid:20"};
+		new Tournament(entrants, 5, 20, 1);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoThreads() throws InterruptedException {
+		new Tournament(new String[] {"paranoid:5", "maxn:5"}, 2, 8, 1).play(0, null, false);
+	}
+	
+	@Test
+	public void testPlay() throws InterruptedException {
+		String[] entrants = {"paranoid:5", "maxn:5", "mcts:5:1"};
+		Tournament t = new Tournament(entrants, 2, 8, 2);
+		StringWriter out = new StringWriter();
+		t.play(3, out, false);
+		
+		// Three pairs of two games, with a header, each entrant playing from both seats
+		String[] lines = out.toString().split("\n");
+		assertEquals(7, lines.length);
+		assertEquals("game,seat1,seat2,score1,score2,winners,millis", lines[0].trim());
+		assertEquals(6, t.getGamesFinished());
+		
+		double ratings = 0;
+		double wins = 0;
+		for(int i = 0; i < entrants.length; i++) {
+			assertEquals(4, t.getGamesPlayed(i));
+			ratings += t.getRating(i);
+			wins += t.getWins(i);
+		}
+		
+		// Elo only moves rating points between players, and every game has a winner
+		assertEquals(3*Tournament.INITIAL_RATING, ratings, 1e-6);
+		assertEquals(6, wins, 1e-9);
+		assertEquals(1, t.getSeatWinRate(1) + t.getSeatWinRate(2), 1e-9);
+	}
+	
+	@Test
+	public void testPlayJson() throws InterruptedException {
+		Tournament t = new Tournament(new String[] {"paranoid:5", "maxn:5", "paranoid:10"}, 3, 8, 1);
+		StringWriter out = new StringWriter();
+		t.play(1, out, true);
+		
+		String line = out.toString().trim();
+		assertTrue(line.startsWith("{\"game\":1,\"seats\":[\"paranoid:5\",\"maxn:5\",\"paranoid:10\"],\"scores\":["));
+		assertTrue(line.endsWith("}"));
+		assertTrue(t.getStandings().contains("seat 3 wins"));
+	}
+}
@@ -0,0 +1,70 @@
+package santanjm.blokus;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import santanjm.blokus.*;
+
+public class TranspositionTableTest {
+	
+	@Test
+	public void testCapacity() {
+		// One megabyte holds 52428 entries of 20 bytes, rounded down to 16384 buckets
+		assertEquals(32768, new TranspositionTable(1).getCapacity());
+		assertEquals(8*32768, new TranspositionTable(8).getCapacity());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoBudget() {
+		new TranspositionTable(0);
+	}
+	
+	@Test
+	public void testStoreAndProbe() {
+		TranspositionTable tt = new TranspositionTable(1);
+		assertEquals(-1, tt.probe(12345L));
+		
+		int move = Move.encode(4, 1, 7, 8);
+		tt.store(12345L, 3, TranspositionTable.LOWER, -17, move);
+		int slot = tt.probe(12345L);
+		assertTrue(slot >= 0);
+		assertEquals(3, tt.getDepth(slot));
+		assertEquals(TranspositionTable.LOWER, tt.getBound(slot));
+		assertEquals(-17, tt.getScore(slot));
+		assertEquals(move, tt.getMove(slot));
+		
+		tt.clear();
+		assertEquals(-1, tt.probe(12345L));
+	}
+	
+	@Test
+	public void testReplacement() {
+		TranspositionTable tt = new TranspositionTable(1);
+		
+		// Three positions that share a bucket, as they differ only in their high bits
+		long deep = 5L;
+		long shallow = 5L | (1L << 50);
+		long newer = 5L | (2L << 50);
+		
+		// The deeper entry keeps the depth-preferred slot, the others share the other one
+		tt.store(deep, 6, TranspositionTable.EXACT, 1, 0);
+		tt.store(shallow, 2, TranspositionTable.EXACT, 2, 0);
+		assertTrue(tt.probe(deep) >= 0);
+		assertTrue(tt.probe(shallow) >= 0);
+		
+		tt.store(newer, 1, TranspositionTable.EXACT, 3, 0);
+		assertTrue(tt.probe(deep) >= 0);
+		assertEquals(-1, tt.probe(shallow));
+		assertTrue(tt.probe(newer) >= 0);
+		
+		// A shallower result never overwrites a deeper one for the same position
+		tt.store(deep, 4, TranspositionTable.UPPER, 9, 0);
+		assertEquals(6, tt.getDepth(tt.probe(deep)));
+		assertEquals(1, tt.getScore(tt.probe(deep)));
+		
+		// But once a new search starts, the old entry gives way
+		tt.newSearch();
+		tt.store(shallow, 1, TranspositionTable.EXACT, 4, 0);
+		assertEquals(-1, tt.probe(deep));
+		assertEquals(4, tt.getScore(tt.probe(shallow)));
+	}
+}